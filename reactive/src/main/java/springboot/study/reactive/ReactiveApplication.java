@@ -0,0 +1,16 @@
+package springboot.study.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.data.r2dbc.config.EnableR2dbcAuditing;
+
+//JPA 블로그 앱과 같은 /api/articles 계약을 논블로킹(WebFlux, R2DBC)으로 제공하는 앱
+@EnableR2dbcAuditing
+@SpringBootApplication
+public class ReactiveApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(ReactiveApplication.class, args);
+	}
+
+}
@@ -0,0 +1,60 @@
+package springboot.study.reactive.domain;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Table("article")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class Article {
+
+    public static final int EXCERPT_LENGTH = 150; //목록에 보여줄 요약 길이
+
+    @Id
+    private Long id;
+
+    private String title;
+
+    private String content;
+
+    private String excerpt; //목록 조회 시 content 대신 읽는 요약
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+
+    @Version
+    private Long version; //null이면 새 글로 보고 insert
+
+    @Builder
+    public Article(String title, String content){
+        this.title=title;
+        this.content=content;
+        this.excerpt=excerptOf(content);
+    }
+
+    public Article update(String title, String content){
+        this.title=title;
+        this.content=content;
+        this.excerpt=excerptOf(content);
+        return this;
+    }
+
+    private static String excerptOf(String content){
+        if(content==null || content.length()<=EXCERPT_LENGTH){
+            return content;
+        }
+        return content.substring(0, EXCERPT_LENGTH);
+    }
+}
@@ -0,0 +1,21 @@
+package springboot.study.reactive.dto;
+
+import lombok.Getter;
+import springboot.study.reactive.domain.Article;
+
+@Getter
+public class ArticleResponse {
+
+    private final String title;
+    private final String content;
+
+    public ArticleResponse(Article article){
+        this.title= article.getTitle();
+        this.content= article.getContent();
+    }
+
+    public ArticleResponse(ArticleSummary summary){ //목록 조회용: 본문 대신 요약을 담음
+        this.title= summary.getTitle();
+        this.content= summary.getExcerpt();
+    }
+}
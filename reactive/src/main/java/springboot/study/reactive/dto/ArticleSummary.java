@@ -0,0 +1,8 @@
+package springboot.study.reactive.dto;
+
+//목록 조회용 프로젝션: content 컬럼을 읽지 않음
+public interface ArticleSummary {
+    Long getId();
+    String getTitle();
+    String getExcerpt();
+}
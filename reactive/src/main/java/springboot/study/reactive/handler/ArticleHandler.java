@@ -0,0 +1,128 @@
+package springboot.study.reactive.handler;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import springboot.study.reactive.domain.Article;
+import springboot.study.reactive.dto.AddArticleRequest;
+import springboot.study.reactive.dto.ArticleExportResponse;
+import springboot.study.reactive.dto.ArticleResponse;
+import springboot.study.reactive.dto.ArticleSummary;
+import springboot.study.reactive.dto.UpdateArticleRequest;
+import springboot.study.reactive.repository.ArticleRepository;
+import springboot.study.reactive.util.CursorUtil;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+
+//글 API 핸들러, JPA 앱의 BlogApiController와 같은 경로, 요청, 응답 형식
+@RequiredArgsConstructor
+@Component
+public class ArticleHandler {
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final ArticleRepository articleRepository;
+
+    public Mono<ServerResponse> addArticle(ServerRequest request){ //글 추가
+        return request.bodyToMono(AddArticleRequest.class)
+                .map(AddArticleRequest::toEntity)
+                .flatMap(articleRepository::save)
+                .flatMap(article->ServerResponse.status(HttpStatus.CREATED).bodyValue(article)); //성공시 201 응답 코드 반환
+    }
+
+    //글 목록 조회(커서 기반), 다음 페이지 커서는 응답 헤더로 전달
+    public Mono<ServerResponse> findAllArticles(ServerRequest request){
+        String cursor=request.queryParam("cursor").orElse(null);
+        int size=request.queryParam("size").map(ArticleHandler::parseSize).orElse(DEFAULT_PAGE_SIZE);
+        int limit=Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        //한 개 더 읽어서 다음 페이지가 있는지 확인
+        PageRequest page=PageRequest.of(0, limit+1);
+        Flux<ArticleSummary> summaries=cursor==null || cursor.isBlank()
+                ? articleRepository.findSummariesByOrderByIdDesc(page)
+                : articleRepository.findSummariesByIdLessThanOrderByIdDesc(CursorUtil.decode(cursor), page);
+
+        return summaries.collectList()
+                .flatMap(rows->{
+                    List<ArticleSummary> content=rows.size()>limit ? rows.subList(0, limit) : rows;
+                    ServerResponse.BodyBuilder response=ServerResponse.ok();
+                    if(rows.size()>limit){
+                        response.header(NEXT_CURSOR_HEADER, CursorUtil.encode(content.get(content.size()-1).getId()));
+                    }
+                    return response.bodyValue(content.stream().map(ArticleResponse::new).toList());
+                });
+    }
+
+    //전체 글 내보내기, 한 줄에 글 하나
+    //클라이언트가 읽는 속도에 맞춰 DB에서 가져오므로(배압) 글이 많아도 메모리에 모아두지 않음
+    public Mono<ServerResponse> exportArticles(ServerRequest request){
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(articleRepository.findAllByOrderByIdAsc().map(ArticleExportResponse::new), ArticleExportResponse.class);
+    }
+
+    //글이 바뀌지 않았으면 304 응답, JPA 앱과 같은 ETag(글 id와 버전), Last-Modified 헤더
+    //JPA 앱과 달리 조회수는 세지 않음(article 테이블에 조회수 컬럼이 없음)
+    public Mono<ServerResponse> findArticle(ServerRequest request){
+        return findById(request)
+                .flatMap(article->{
+                    String eTag=eTag(article);
+                    Instant lastModified=lastModified(article);
+                    return request.checkNotModified(lastModified, eTag)
+                            .switchIfEmpty(Mono.defer(()->ServerResponse.ok()
+                                    .eTag(eTag)
+                                    .lastModified(lastModified)
+                                    .bodyValue(new ArticleResponse(article))));
+                });
+    }
+
+    public Mono<ServerResponse> deleteArticle(ServerRequest request){
+        return articleRepository.deleteById(id(request))
+                .then(ServerResponse.ok().build());
+    }
+
+    public Mono<ServerResponse> updateArticle(ServerRequest request){
+        return request.bodyToMono(UpdateArticleRequest.class)
+                .zipWith(findById(request))
+                .map(tuple->tuple.getT2().update(tuple.getT1().getTitle(), tuple.getT1().getContent()))
+                .flatMap(articleRepository::save)
+                .flatMap(article->ServerResponse.ok().bodyValue(article));
+    }
+
+    private Mono<Article> findById(ServerRequest request){
+        long id=id(request);
+        return articleRepository.findById(id)
+                .switchIfEmpty(Mono.error(()->new IllegalArgumentException("not found: " + id)));
+    }
+
+    private static long id(ServerRequest request){
+        return Long.parseLong(request.pathVariable("id"));
+    }
+
+    //숫자가 아닌 size는 400 응답
+    private static int parseSize(String size){
+        try {
+            return Integer.parseInt(size);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid size: " + size);
+        }
+    }
+
+    private static String eTag(Article article){
+        return "\"" + article.getId() + "-" + article.getVersion() + "\"";
+    }
+
+    private static Instant lastModified(Article article){
+        return article.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
@@ -0,0 +1,18 @@
+package springboot.study.reactive.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import springboot.study.reactive.domain.Article;
+import springboot.study.reactive.dto.ArticleSummary;
+
+public interface ArticleRepository extends R2dbcRepository<Article, Long> {
+    //첫 페이지(최신 글부터), 프로젝션이라 id, title, excerpt 컬럼만 조회
+    Flux<ArticleSummary> findSummariesByOrderByIdDesc(Pageable pageable);
+
+    //커서(마지막으로 읽은 id) 다음 페이지, OFFSET 없이 pk 인덱스로 바로 찾음
+    Flux<ArticleSummary> findSummariesByIdLessThanOrderByIdDesc(Long id, Pageable pageable);
+
+    //전체 글 스트리밍(내보내기), 구독자가 요청한 만큼만 DB에서 가져옴
+    Flux<Article> findAllByOrderByIdAsc();
+}
@@ -0,0 +1,24 @@
+package springboot.study.reactive.router;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import springboot.study.reactive.handler.ArticleHandler;
+
+@Configuration
+public class ArticleRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> articleRoutes(ArticleHandler articleHandler){
+        return RouterFunctions.route()
+                .POST("/api/articles", articleHandler::addArticle)
+                .GET("/api/articles", articleHandler::findAllArticles)
+                .GET("/api/articles/export", articleHandler::exportArticles) //{id}보다 먼저 매칭
+                .GET("/api/articles/{id}", articleHandler::findArticle)
+                .PUT("/api/articles/{id}", articleHandler::updateArticle)
+                .DELETE("/api/articles/{id}", articleHandler::deleteArticle)
+                .build();
+    }
+}
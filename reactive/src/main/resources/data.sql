@@ -0,0 +1,3 @@
+INSERT INTO article (title, content, excerpt, created_at, updated_at, version) VALUES ('제목 1', '내용 1', '내용 1', NOW(), NOW(), 0);
+INSERT INTO article (title, content, excerpt, created_at, updated_at, version) VALUES ('제목 2', '내용 2', '내용 2', NOW(), NOW(), 0);
+INSERT INTO article (title, content, excerpt, created_at, updated_at, version) VALUES ('제목 3', '내용 3', '내용 3', NOW(), NOW(), 0);
@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS article (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    content VARCHAR(255) NOT NULL,
+    excerpt VARCHAR(150),
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    version BIGINT
+);
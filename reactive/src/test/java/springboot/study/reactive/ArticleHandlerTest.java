@@ -0,0 +1,202 @@
+package springboot.study.reactive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import springboot.study.reactive.domain.Article;
+import springboot.study.reactive.dto.AddArticleRequest;
+import springboot.study.reactive.dto.UpdateArticleRequest;
+import springboot.study.reactive.repository.ArticleRepository;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+class ArticleHandlerTest {
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Autowired
+    ArticleRepository articleRepository;
+
+    @BeforeEach
+    void setUp() {
+        articleRepository.deleteAll().block();
+    }
+
+    @DisplayName("addArticle: 블로그 글 추가에 성공")
+    @Test
+    void addArticle() {
+        // when 글 추가 요청
+        webTestClient.post().uri("/api/articles")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new AddArticleRequest("title", "content"))
+                .exchange()
+                // then 201 응답, 저장된 글 확인
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isNotEmpty()
+                .jsonPath("$.title").isEqualTo("title");
+
+        StepVerifier.create(articleRepository.findAll())
+                .assertNext(article -> assertThat(article.getContent()).isEqualTo("content"))
+                .verifyComplete();
+    }
+
+    @DisplayName("findAllArticles: 커서로 다음 페이지를 이어서 조회")
+    @Test
+    void findAllArticlesWithCursor() {
+        // given 글 3개 저장
+        saveArticles(3);
+
+        // when 2개씩 첫 페이지 조회
+        String nextCursor = webTestClient.get().uri("/api/articles?size=2")
+                .exchange()
+                // then 최신 글 2개와 다음 페이지 커서
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].title").isEqualTo("title 2")
+                .returnResult()
+                .getResponseHeaders()
+                .getFirst("X-Next-Cursor");
+        assertThat(nextCursor).isNotNull();
+
+        // when 커서로 다음 페이지 조회
+        webTestClient.get().uri("/api/articles?size=2&cursor=" + nextCursor)
+                .exchange()
+                // then 남은 글 1개, 마지막 페이지라 커서 없음
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist("X-Next-Cursor")
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].title").isEqualTo("title 0");
+    }
+
+    @DisplayName("findAllArticles: 잘못된 커서는 400 응답")
+    @Test
+    void findAllArticlesWithInvalidCursor() {
+        webTestClient.get().uri("/api/articles?cursor=not-a-cursor")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @DisplayName("findAllArticles: 숫자가 아닌 size는 400 응답")
+    @Test
+    void findAllArticlesWithInvalidSize() {
+        webTestClient.get().uri("/api/articles?size=abc")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @DisplayName("findArticle: ETag, Last-Modified를 보내고 글이 바뀌지 않았으면 304, 수정 후에는 200 응답")
+    @Test
+    void findArticleNotModified() {
+        // given 글 저장 후 조회
+        Long id = saveArticles(1).get(0).getId();
+        HttpHeaders headers = webTestClient.get().uri("/api/articles/{id}", id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.LAST_MODIFIED)
+                .expectBody()
+                .returnResult()
+                .getResponseHeaders();
+        String eTag = headers.getETag();
+        assertThat(eTag).isEqualTo("\"" + id + "-0\"");
+
+        // when 같은 ETag로 다시 조회
+        webTestClient.get().uri("/api/articles/{id}", id)
+                .ifNoneMatch(eTag)
+                .exchange()
+                // then 본문 없이 304
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+
+        // when 글 수정 후 같은 ETag로 조회
+        webTestClient.put().uri("/api/articles/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UpdateArticleRequest("new title", "new content"))
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.get().uri("/api/articles/{id}", id)
+                .ifNoneMatch(eTag)
+                .exchange()
+                // then 새 버전으로 200
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"" + id + "-1\"")
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("new title");
+    }
+
+    @DisplayName("exportArticles: 전체 글을 한 줄에 하나씩 스트리밍")
+    @Test
+    void exportArticles() {
+        // given 글 3개 저장
+        saveArticles(3);
+
+        // when 내보내기 요청
+        Flux<String> lines = webTestClient.get().uri("/api/articles/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseBody();
+
+        // then id 순서대로 3줄
+        StepVerifier.create(lines)
+                .assertNext(line -> assertThat(line).contains("title 0"))
+                .assertNext(line -> assertThat(line).contains("title 1"))
+                .assertNext(line -> assertThat(line).contains("title 2"))
+                .verifyComplete();
+    }
+
+    @DisplayName("updateArticle, deleteArticle: 글 수정, 삭제에 성공")
+    @Test
+    void updateAndDeleteArticle() {
+        // given 글 저장
+        Long id = saveArticles(1).get(0).getId();
+
+        // when 글 수정
+        webTestClient.put().uri("/api/articles/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UpdateArticleRequest("new title", "new content"))
+                .exchange()
+                // then 수정된 글 반환
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("new title");
+        webTestClient.get().uri("/api/articles/{id}", id)
+                .exchange()
+                .expectBody()
+                .jsonPath("$.content").isEqualTo("new content");
+
+        // when 글 삭제
+        webTestClient.delete().uri("/api/articles/{id}", id)
+                .exchange()
+                .expectStatus().isOk();
+
+        // then 글이 없음
+        StepVerifier.create(articleRepository.count())
+                .expectNext(0L)
+                .verifyComplete();
+    }
+
+    private List<Article> saveArticles(int count) {
+        return Flux.fromStream(IntStream.range(0, count).mapToObj(i -> new AddArticleRequest("title " + i, "content " + i).toEntity()))
+                .concatMap(articleRepository::save) //id 순서를 지키도록 하나씩 저장
+                .collectList()
+                .block();
+    }
+}
@@ -0,0 +1,135 @@
+package springboot.study.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import springboot.study.config.jwt.JwtKeyRing;
+import springboot.study.config.jwt.JwtProperties;
+import springboot.study.config.jwt.RevokedTokens;
+import springboot.study.config.jwt.TokenProvider;
+import springboot.study.domain.User;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+//요청마다 거치는 인증 경로(JWT 발급, 검증, 인증 필터)의 처리량과 할당량 측정: ./gradlew jmh
+//같은 토큰을 반복 검증하는 벤치마크는 검증 결과 캐시 적중만 측정하므로, 파싱과 서명 검증은 *Uncached로 따로 측정
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AuthenticationBenchmark {
+
+    private static final int REVOKED_TOKENS = 10_000;
+
+    private TokenProvider tokenProvider;
+    private TokenAuthenticationFilter tokenAuthenticationFilter;
+    private User user;
+    private String token;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setIssuer("kny5579@naver.com");
+        jwtProperties.setSecretKey("study-springboot");
+
+        RevokedTokens revokedTokens = new RevokedTokens(new BlogProperties());
+        for (int i = 0; i < REVOKED_TOKENS; i++) { //폐기 목록이 차 있는 상태에서 측정
+            revokedTokens.revoke(UUID.randomUUID().toString(), null);
+        }
+
+        tokenProvider = new TokenProvider(jwtProperties, new JwtKeyRing(jwtProperties), revokedTokens);
+        tokenAuthenticationFilter = new TokenAuthenticationFilter(tokenProvider, new SimpleMeterRegistry());
+
+        user = User.builder()
+                .email("user@gmail.com")
+                .password("test")
+                .build();
+        ReflectionTestUtils.setField(user, "id", 1L);
+
+        token = tokenProvider.generateToken(user, Duration.ofHours(2));
+        authorizationHeader = "Bearer " + token;
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken(user, Duration.ofHours(2));
+    }
+
+    @Benchmark
+    public boolean validToken() {
+        return tokenProvider.validToken(token);
+    }
+
+    @Benchmark
+    public Authentication getAuthentication() {
+        return tokenProvider.getAuthentication(token);
+    }
+
+    @Benchmark
+    public Authentication authenticate() {
+        return tokenProvider.authenticate(token);
+    }
+
+    @Benchmark
+    public Long getUserId() {
+        return tokenProvider.getUserId(token);
+    }
+
+    //캐시 없이 매번 파싱, 서명 검증(처음 보는 토큰, 캐시가 만료된 토큰의 비용)
+    @Benchmark
+    public boolean validTokenUncached(Uncached uncached) {
+        return uncached.tokenProvider.validToken(token);
+    }
+
+    @Benchmark
+    public Authentication authenticateUncached(Uncached uncached) {
+        return uncached.tokenProvider.authenticate(token);
+    }
+
+    //요청 헤더 조회부터 SecurityContext 설정까지 필터 한 번 통과(Mock 요청, 응답 생성 비용 포함)
+    @Benchmark
+    public void doFilterInternal(Blackhole blackhole) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/articles");
+        request.addHeader("Authorization", authorizationHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        tokenAuthenticationFilter.doFilter(request, response, new MockFilterChain());
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    //검증 결과 캐시를 크기 0(저장 즉시 제거)으로 바꾼 TokenProvider, 같은 키로 서명하므로 바깥의 token을 그대로 검증
+    @State(Scope.Benchmark)
+    public static class Uncached {
+
+        private TokenProvider tokenProvider;
+
+        @Setup
+        public void setUp() {
+            JwtProperties jwtProperties = new JwtProperties();
+            jwtProperties.setIssuer("kny5579@naver.com");
+            jwtProperties.setSecretKey("study-springboot");
+
+            tokenProvider = new TokenProvider(jwtProperties, new JwtKeyRing(jwtProperties), new RevokedTokens(new BlogProperties()));
+            ReflectionTestUtils.setField(tokenProvider, "verifiedTokens", Caffeine.newBuilder()
+                    .maximumSize(0)
+                    .executor(Runnable::run) //제거를 다른 스레드로 미루지 않음
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package springboot.study.config.ratelimit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+//요청 제한 확인 한 번에 드는 시간(ns/op) 측정: ./gradlew jmh
+//허용(토큰 있음), 거절(토큰 없음), 여러 스레드가 같은 키를 두고 경합하는 경우, 키가 많은 경우, 필터 전체
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RateLimiterBenchmark {
+
+    private static final int KEYS = 100_000;
+
+    private RateLimiter allowing;
+    private RateLimiter rejecting;
+    private String[] keys;
+    private RateLimitFilter rateLimitFilter;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        allowing = new RateLimiter(Integer.MAX_VALUE, Duration.ofNanos(Integer.MAX_VALUE)); //토큰이 1ns마다 차서 항상 허용
+        rejecting = new RateLimiter(1, Duration.ofDays(1));
+        rejecting.tryAcquire("127.0.0.1"); //하나뿐인 토큰을 미리 사용
+
+        keys = IntStream.range(0, KEYS).mapToObj(i -> "10.0." + (i >> 8) + "." + (i & 0xff)).toArray(String[]::new);
+        for (String key : keys) {
+            allowing.tryAcquire(key);
+        }
+
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setPath("/api/token");
+        route.setCapacity(Integer.MAX_VALUE);
+        route.setRefillPeriod(Duration.ofNanos(Integer.MAX_VALUE));
+        RateLimitProperties rateLimitProperties = new RateLimitProperties();
+        rateLimitProperties.setRoutes(List.of(route));
+        rateLimitFilter = new RateLimitFilter(rateLimitProperties);
+
+        request = new MockHttpServletRequest("POST", "/api/token");
+        request.setRemoteAddr("127.0.0.1");
+    }
+
+    @Benchmark
+    public long allowed() {
+        return allowing.tryAcquire("127.0.0.1");
+    }
+
+    @Benchmark
+    public long rejected() {
+        return rejecting.tryAcquire("127.0.0.1");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long allowedContended() {
+        return allowing.tryAcquire("127.0.0.1");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long allowedManyKeys() {
+        return allowing.tryAcquire(keys[ThreadLocalRandom.current().nextInt(KEYS)]);
+    }
+
+    @Benchmark
+    public int filter() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
@@ -3,7 +3,11 @@ package springboot.study;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 
+@EnableScheduling
+@EnableMethodSecurity //@PreAuthorize로 관리자 API 보호
 @EnableJpaAuditing
 @SpringBootApplication
 public class StudyApplication {
@@ -0,0 +1,31 @@
+package springboot.study.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+
+//부하 측정용(benchmark 프로필) 보안 설정: 측정하는 글 목록 조회만 로그인 없이 허용
+//기본 설정에서는 로그인하지 않은 요청이 로그인 페이지로 리다이렉트(302)되거나 401을 받아서 글 조회가 아니라 거절을 측정하게 됨
+//글 목록 조회에만 적용하고 나머지 요청은 WebOAuthSecurityConfig의 체인이 처리
+@Profile("benchmark")
+@Configuration
+public class BenchmarkSecurityConfig {
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE) //기본 체인보다 먼저 확인
+    public SecurityFilterChain benchmarkFilterChain(HttpSecurity http) throws Exception {
+        return http
+                .securityMatcher(new AntPathRequestMatcher("/api/articles", HttpMethod.GET.name()))
+                .authorizeHttpRequests(auth -> auth
+                        .anyRequest().permitAll())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)) //요청마다 세션을 만들지 않음
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package springboot.study.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties("blog") //application.yml에 적은 blog 프로퍼티 값을 가져옴
+public class BlogProperties {
+    private final CacheSpec articleCache = new CacheSpec(); //글 단건 조회 캐시
+    private final CacheSpec fragmentCache = new CacheSpec(); //렌더링된 글 HTML 조각 캐시
+    private final CacheSpec refreshTokenCache = new CacheSpec(); //리프레시 토큰 해시 -> 사용자 id 캐시
+    private final Purge refreshTokenPurge = new Purge(); //만료된 리프레시 토큰 정리
+    private final CacheSpec userDetailsCache = new CacheSpec(); //폼 로그인 사용자 정보 캐시
+    private final CacheSpec oauthUserCache = new CacheSpec(); //OAuth2 로그인 유저 이름 캐시(변경이 없으면 DB에 쓰지 않음)
+    private final ViewCount viewCount = new ViewCount(); //조회수 집계
+    private final Revocation revocation = new Revocation(); //만료 전 토큰 폐기
+    private final PasswordHashing passwordHashing = new PasswordHashing(); //비밀번호 해시 전용 스레드 풀
+
+    @Getter
+    @Setter
+    public static class CacheSpec {
+        private long maximumSize = 10_000; //최대 보관 개수, 넘으면 오래 안 쓴 것부터 제거
+        private Duration expireAfterWrite = Duration.ofMinutes(10); //저장 후 만료 시간
+        private Duration loadTimeout = Duration.ofSeconds(3); //다른 요청의 조회 결과를 기다리는 최대 시간
+    }
+
+    @Getter
+    @Setter
+    public static class ViewCount {
+        private Duration flushInterval = Duration.ofSeconds(5); //메모리에 모은 조회수를 DB에 반영하는 주기(비정상 종료 시 최대 이만큼 유실)
+        private int mostViewedSize = 10; //많이 본 글 목록 크기
+    }
+
+    @Getter
+    @Setter
+    public static class PasswordHashing {
+        private int strength = 10; //BCrypt 강도(log2 반복 횟수), 1 올릴 때마다 해시 시간이 2배
+        private int threads = Runtime.getRuntime().availableProcessors(); //동시에 해시하는 최대 개수
+        private int queueCapacity = 20; //스레드를 기다리는 최대 요청 수, 넘으면 503(대기 중인 요청도 요청 스레드를 하나씩 잡고 있음)
+        private Duration waitTimeout = Duration.ofSeconds(1); //요청 스레드가 결과를 기다리는 최대 시간, 넘으면 취소하고 503
+    }
+
+    @Getter
+    @Setter
+    public static class Revocation {
+        private long expectedRevocations = 100_000; //블룸 필터 크기 기준(넘으면 오탐이 늘어 정확한 목록 확인이 잦아짐)
+        private double falsePositiveRate = 0.001;
+        private Duration retention = Duration.ofDays(14); //가장 긴 토큰(리프레시 토큰) 수명, 사용자 단위 폐기를 유지하는 기간
+        private Duration purgeInterval = Duration.ofMinutes(10); //만료된 폐기 정보 정리, 블룸 필터 재생성 주기
+    }
+
+    @Getter
+    @Setter
+    public static class Purge {
+        private Duration interval = Duration.ofHours(1); //정리 주기
+        private int chunkSize = 1_000; //트랜잭션 하나에서 지우는 최대 행 수(잠금을 짧게 유지)
+    }
+}
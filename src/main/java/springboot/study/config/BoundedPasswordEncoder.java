@@ -0,0 +1,108 @@
+package springboot.study.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+//비밀번호 해시, 검증을 크기가 정해진 전용 스레드 풀에서 실행하는 PasswordEncoder
+//동시에 해시하는 수를 스레드 수로 제한하고, 대기열이 가득 차면 기다리지 않고 바로 503으로 거절
+//폼 로그인(시큐리티 필터 안)에서도 처리할 수 있도록 인증 예외인 PasswordHashingBusyException으로 거절
+//요청 스레드는 결과를 기다리는 동안 막혀 있으므로(최대 스레드 수 + 대기열 크기만큼) 기다리는 시간도 waitTimeout으로 제한
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long waitTimeoutNanos;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+    private final Counter timedOut;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, ThreadPoolExecutor executor, Duration waitTimeout, MeterRegistry meterRegistry){
+        this.delegate=delegate;
+        this.executor=executor;
+        this.waitTimeoutNanos=waitTimeout.toNanos();
+        this.encodeTimer=timer(meterRegistry, "encode");
+        this.matchesTimer=timer(meterRegistry, "matches");
+        this.rejected=Counter.builder("password.hashing.rejected")
+                .description("Password hashing requests rejected because the queue was full")
+                .register(meterRegistry);
+        this.timedOut=Counter.builder("password.hashing.timed.out")
+                .description("Password hashing requests cancelled because the result did not arrive within the wait timeout")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.queue", executor, e->e.getQueue().size())
+                .description("Password hashing requests waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing requests running")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword){
+        return run(encodeTimer, ()->delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword){
+        return run(matchesTimer, ()->delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword){
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    //스레드 풀 종료(빈 소멸 시 호출됨)
+    @Override
+    public void close(){
+        executor.shutdown();
+    }
+
+    private <T> T run(Timer timer, Callable<T> task){
+        Future<T> future;
+        try {
+            future=executor.submit(timer.wrap(task)); //대기 시간을 빼고 해시에 걸린 시간만 기록
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException("password hashing is busy");
+        }
+
+        try {
+            return future.get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true); //아직 대기열에 있으면 실행되지 않음
+            timedOut.increment();
+            throw new PasswordHashingBusyException("password hashing timed out");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("password hashing interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause=e.getCause();
+            if(cause instanceof RuntimeException runtimeException){
+                throw runtimeException;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String operation){
+        return Timer.builder("password.hashing")
+                .description("Time spent hashing or verifying a password")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,41 @@
+package springboot.study.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@RequiredArgsConstructor
+@Configuration
+public class PasswordEncoderConfig {
+
+    private final BlogProperties blogProperties;
+
+    //비밀번호 해시는 전용 스레드 풀에서 실행, 풀은 빈으로 등록하지 않음
+    //(Executor 빈이 있으면 스프링 부트가 기본 applicationTaskExecutor를 만들지 않음), 종료 시 close()로 정리
+    @Bean
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry){ //패스워드 암호화
+        BlogProperties.PasswordHashing spec=blogProperties.getPasswordHashing();
+        return new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(spec.getStrength()),
+                passwordHashingExecutor(spec),
+                spec.getWaitTimeout(),
+                meterRegistry);
+    }
+
+    //대기열이 가득 차면 RejectedExecutionException(AbortPolicy)
+    private static ThreadPoolExecutor passwordHashingExecutor(BlogProperties.PasswordHashing spec){
+        return new ThreadPoolExecutor(spec.getThreads(), spec.getThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(spec.getQueueCapacity()),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
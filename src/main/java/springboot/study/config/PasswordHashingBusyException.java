@@ -0,0 +1,18 @@
+package springboot.study.config;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+//비밀번호 해시, 검증을 전용 스레드 풀에서 실행하지 못했을 때(대기열이 가득 참, 대기 시간 초과)
+//폼 로그인 검증은 스프링 MVC 바깥(시큐리티 필터)에서 실행되므로 ResponseStatusException 대신 인증 예외로 던짐
+//컨트롤러(회원 가입)에서는 @ResponseStatus로, 폼 로그인에서는 PasswordHashingFailureHandler가 503으로 응답
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE, reason = "password hashing is busy")
+public class PasswordHashingBusyException extends AuthenticationServiceException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingBusyException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,28 @@
+package springboot.study.config;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
+
+import java.io.IOException;
+
+//폼 로그인 실패 처리: 비밀번호 해시 스레드 풀이 바빠서 검증하지 못한 요청은 503, 나머지는 로그인 페이지로 이동
+public class PasswordHashingFailureHandler extends SimpleUrlAuthenticationFailureHandler {
+
+    public PasswordHashingFailureHandler(String defaultFailureUrl){
+        super(defaultFailureUrl);
+    }
+
+    @Override
+    public void onAuthenticationFailure(HttpServletRequest request, HttpServletResponse response, AuthenticationException exception)
+            throws IOException, ServletException {
+        if(exception instanceof PasswordHashingBusyException){ //비밀번호가 틀린 것이 아니므로 잠시 후 다시 시도하도록 응답
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), exception.getMessage());
+            return;
+        }
+        super.onAuthenticationFailure(request, response, exception);
+    }
+}
@@ -1,40 +1,57 @@
 package springboot.study.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 import springboot.study.config.jwt.TokenProvider;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
-@RequiredArgsConstructor
 public class TokenAuthenticationFilter extends OncePerRequestFilter {
     private final TokenProvider tokenProvider;
 
     private final static String HEADER_AUTHORIZATION = "Authorization";
     private final static String TOKEN_PREFIX = "Bearer ";
 
+    //토큰 확인에 걸린 시간(다음 필터, 컨트롤러 시간은 제외), 결과별 태그: authenticated, invalid, none(토큰 없음)
+    private final Timer authenticatedTimer;
+    private final Timer invalidTimer;
+    private final Timer noTokenTimer;
+
+    //필터를 만드는 설정에서 애플리케이션의 MeterRegistry를 넘겨받음
+    public TokenAuthenticationFilter(TokenProvider tokenProvider, MeterRegistry meterRegistry) {
+        this.tokenProvider = tokenProvider;
+        this.authenticatedTimer = timer(meterRegistry, "authenticated");
+        this.invalidTimer = timer(meterRegistry, "invalid");
+        this.noTokenTimer = timer(meterRegistry, "none");
+    }
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
             HttpServletResponse response,
             FilterChain filterChain)  throws ServletException, IOException {
 
+        long started = System.nanoTime();
         //요청 헤더의 authorization 키 값 조회
         String authorizationHeader = request.getHeader(HEADER_AUTHORIZATION);
         //가져온 값에서 접두사 제거
         String token = getAccessToken(authorizationHeader);
 
-        //가져온 토큰 유효 확인, 유효한 때는 인증번호 설정
-        if (tokenProvider.validToken(token)) {
-            Authentication authentication = tokenProvider.getAuthentication(token);
+        //가져온 토큰을 한 번만 검증해서 유효한 때는 인증정보 설정
+        Authentication authentication = tokenProvider.authenticate(token);
+        if (authentication != null) {
             SecurityContextHolder.getContext().setAuthentication(authentication);
         }
+        Timer timer = token == null ? noTokenTimer : authentication == null ? invalidTimer : authenticatedTimer;
+        timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
 
         filterChain.doFilter(request, response);
     }
@@ -46,4 +63,12 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
 
         return null;
     }
+
+    private static Timer timer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("auth.filter")
+                .description("Time spent authenticating the bearer token")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 }
\ No newline at end of file
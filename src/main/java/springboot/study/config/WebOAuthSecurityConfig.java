@@ -1,25 +1,70 @@
 package springboot.study.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
 import springboot.study.config.jwt.TokenProvider;
 import springboot.study.config.oauth.OAuth2UserCustomService;
-import springboot.study.repository.RefreshTokenRepository;
-import springboot.study.service.UserService;
+
+import static org.springframework.boot.autoconfigure.security.servlet.PathRequest.toH2Console;
 
 @RequiredArgsConstructor
 @Configuration
 public class WebOAuthSecurityConfig {
     private final OAuth2UserCustomService oAuth2UserCustomService;
     private final TokenProvider tokenProvider;
-    private final RefreshTokenRepository refreshTokenRepository;
-    private final UserService userService;
+    private final MeterRegistry meterRegistry;
 
     @Bean
     public WebSecurityCustomizer configure(){ //스프링 시큐리티 기능 비활성화
+        return (web)->web.ignoring()
+                .requestMatchers(toH2Console())
+                .requestMatchers(new AntPathRequestMatcher("/img/**"), new AntPathRequestMatcher("/css/**"), new AntPathRequestMatcher("/js/**"));
+    }
 
+    @Bean
+    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+        return http
+                //API는 쿠키 세션이 아니라 Authorization 헤더의 토큰으로 인증하므로 csrf 토큰을 확인하지 않음
+                .csrf(csrf->csrf.ignoringRequestMatchers(new AntPathRequestMatcher("/api/**")))
+                //헤더를 확인할 때 토큰을 확인하는 필터 추가(관리자 API의 ROLE_ADMIN도 여기서 설정됨)
+                .addFilterBefore(tokenAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class)
+                //토큰 재발급 url은 인증 없이 접근 가능하도록 설정, 나머지 api url은 인증 필요
+                .authorizeHttpRequests(auth->auth
+                        .requestMatchers(new AntPathRequestMatcher("/api/token")).permitAll()
+                        .requestMatchers(new AntPathRequestMatcher("/api/**")).authenticated()
+                        //상태 확인, Prometheus 수집은 인증 없이 허용, 나머지 actuator(metrics, querylog)는 관리자만
+                        .requestMatchers(new AntPathRequestMatcher("/actuator/health/**"), new AntPathRequestMatcher("/actuator/prometheus")).permitAll()
+                        .requestMatchers(new AntPathRequestMatcher("/actuator/**")).hasRole("ADMIN")
+                        .anyRequest().permitAll())
+                .formLogin(formLogin->formLogin //폼 기반 로그인 설정
+                        .loginPage("/login")
+                        .defaultSuccessUrl("/articles") //로그인 성공시 이동하는 url
+                        .failureHandler(new PasswordHashingFailureHandler("/login?error"))) //비밀번호 해시 스레드 풀이 바쁘면 503
+                .oauth2Login(oauth2->oauth2
+                        .loginPage("/login")
+                        .userInfoEndpoint(userInfoEndpoint->userInfoEndpoint.userService(oAuth2UserCustomService)))
+                .logout(logout->logout
+                        .logoutSuccessUrl("/login"))
+                //인증되지 않은 api, actuator 요청은 로그인 페이지로 리다이렉트하지 않고 401 응답
+                .exceptionHandling(exceptionHandling->exceptionHandling
+                        .defaultAuthenticationEntryPointFor(
+                                new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED),
+                                new OrRequestMatcher(new AntPathRequestMatcher("/api/**"), new AntPathRequestMatcher("/actuator/**"))))
+                .build();
     }
 
+    //빈으로 등록하지 않음(Filter 빈은 스프링 부트가 서블릿 필터로도 등록해서 모든 요청에 두 번 실행됨)
+    private TokenAuthenticationFilter tokenAuthenticationFilter(){
+        return new TokenAuthenticationFilter(tokenProvider, meterRegistry);
+    }
 }
@@ -7,7 +7,7 @@
 //import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 //import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 //import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
-//import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+//import org.springframework.security.crypto.password.PasswordEncoder;
 //import org.springframework.security.web.SecurityFilterChain;
 //import springboot.study.service.UserDetailService;
 //
@@ -47,16 +47,11 @@
 //
 //    //인증 관리자 관련 설정
 //    @Bean
-//    public AuthenticationManager authenticationManager(HttpSecurity http, BCryptPasswordEncoder bCryptPasswordEncoder, UserDetailService userDetailService) throws Exception {
+//    public AuthenticationManager authenticationManager(HttpSecurity http, PasswordEncoder passwordEncoder, UserDetailService userDetailService) throws Exception {
 //        return http.getSharedObject(AuthenticationManagerBuilder.class)
 //                .userDetailsService(userService) //사용자 정보 서비스 설정
-//                .passwordEncoder(bCryptPasswordEncoder)
+//                .passwordEncoder(passwordEncoder) //로그인 검증도 비밀번호 해시 전용 스레드 풀에서 실행(PasswordEncoderConfig)
 //                .and()
 //                .build();
 //    }
-//
-//    @Bean
-//    public BCryptPasswordEncoder bCryptPasswordEncoder() { //패스워드 암호화
-//        return new BCryptPasswordEncoder();
-//    }
 //}
\ No newline at end of file
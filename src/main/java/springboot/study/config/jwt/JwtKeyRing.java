@@ -0,0 +1,130 @@
+package springboot.study.config.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SignatureException;
+import io.jsonwebtoken.SigningKeyResolver;
+import io.jsonwebtoken.impl.TextCodec;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.security.Key;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//jwt 서명, 검증 키 목록
+//키 객체와 파서는 처음 한 번만 만들고, 토큰 헤더의 kid로 검증 키를 고름
+//서명 키는 하나, 검증 키는 여러 개를 둘 수 있어서 이전 키로 발급된 토큰을 살려둔 채 키를 교체할 수 있음
+@Component
+public class JwtKeyRing implements SigningKeyResolver {
+
+    public static final String DEFAULT_KEY_ID = "default"; //jwt.secret_key의 kid
+
+    private static final SignatureAlgorithm ALGORITHM = SignatureAlgorithm.HS256;
+
+    private final JwtParser parser; //스레드 간 공유, 검증 키는 resolveSigningKey에서 고름
+    private volatile Keys keys; //교체 시 통째로 바꿔서 읽는 쪽은 잠금 없이 사용
+
+    public JwtKeyRing(JwtProperties jwtProperties){
+        Map<String, Key> verificationKeys=new LinkedHashMap<>();
+        if(jwtProperties.getSecretKey()!=null){
+            verificationKeys.put(DEFAULT_KEY_ID, toKey(jwtProperties.getSecretKey()));
+        }
+        jwtProperties.getKeys().forEach((keyId, secret)->verificationKeys.put(keyId, toKey(secret)));
+
+        this.keys=new Keys(jwtProperties.getSigningKeyId(), verificationKeys);
+        this.parser=Jwts.parser().setSigningKeyResolver(this);
+    }
+
+    public JwtParser parser(){
+        return parser;
+    }
+
+    //현재 서명 키(kid와 키 객체를 함께 읽음)
+    public SigningKey signingKey(){
+        Keys current=keys;
+        return new SigningKey(current.signingKeyId(), current.verificationKeys().get(current.signingKeyId()));
+    }
+
+    public SignatureAlgorithm algorithm(){
+        return ALGORITHM;
+    }
+
+    //새 키를 추가하고 서명 키로 사용, 이전 키는 검증용으로 남음
+    //이미 있는 kid는 거절(키를 덮어쓰면 그 kid로 발급된 토큰이 모두 검증에 실패함)
+    synchronized void rotate(String keyId, String secret){
+        if(keys.verificationKeys().containsKey(keyId)){
+            throw new IllegalArgumentException("key id already exists: " + keyId);
+        }
+        Map<String, Key> verificationKeys=new LinkedHashMap<>(keys.verificationKeys());
+        verificationKeys.put(keyId, toKey(requireBase64(secret)));
+        keys=new Keys(keyId, verificationKeys);
+    }
+
+    //검증 키 제거, 이 키로 서명된 토큰은 더 이상 유효하지 않음
+    synchronized void retire(String keyId){
+        if(keyId.equals(keys.signingKeyId())){
+            throw new IllegalArgumentException("cannot retire signing key: " + keyId);
+        }
+        Map<String, Key> verificationKeys=new LinkedHashMap<>(keys.verificationKeys());
+        verificationKeys.remove(keyId);
+        keys=new Keys(keys.signingKeyId(), verificationKeys);
+    }
+
+    //jjwt 0.9.1의 SigningKeyResolver가 raw 타입으로 선언되어 있어서 재정의 메소드도 raw 타입을 받아야 함(JwsHeader<?>는 재정의가 아님)
+    @SuppressWarnings("rawtypes")
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims){
+        return resolve(header);
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    public Key resolveSigningKey(JwsHeader header, String plaintext){
+        return resolve(header);
+    }
+
+    private Key resolve(JwsHeader<?> header){
+        String keyId=header.getKeyId()==null ? DEFAULT_KEY_ID : header.getKeyId(); //kid가 없으면 예전 방식으로 발급된 토큰
+        Key key=keys.verificationKeys().get(keyId);
+        if(key==null){
+            throw new SignatureException("unknown key id: " + keyId);
+        }
+        return key;
+    }
+
+    //설정 파일의 키와 달리 실행 중에 받는 키는 엄격하게 확인(잘못된 문자를 건너뛰는 jjwt 디코딩에 맡기지 않음)
+    private static String requireBase64(String secret){
+        byte[] decoded;
+        try {
+            decoded=Base64.getDecoder().decode(secret);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("secret is not valid base64");
+        }
+        if(decoded.length==0){
+            throw new IllegalArgumentException("secret is empty");
+        }
+        return secret;
+    }
+
+    //jjwt가 문자열 키를 다루는 방식(base64 디코딩)과 같게 변환해서 기존 토큰과 호환
+    private static Key toKey(String secret){
+        return new SecretKeySpec(TextCodec.BASE64.decode(secret), ALGORITHM.getJcaName());
+    }
+
+    public record SigningKey(String id, Key key){
+    }
+
+    private record Keys(String signingKeyId, Map<String, Key> verificationKeys){
+        private Keys {
+            if(!verificationKeys.containsKey(signingKeyId)){
+                throw new IllegalArgumentException("unknown signing key id: " + signingKeyId);
+            }
+            verificationKeys=Map.copyOf(verificationKeys);
+        }
+    }
+}
@@ -5,11 +5,19 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
 @Getter
 @Setter
 @Component
 @ConfigurationProperties("jwt") //application.yml에 적은 jwt 프로퍼티 값을 가져와서 사용하는 어노테이션
 public class JwtProperties { //application.yml에 적은 값들을 변수로 접근하는데 사용할 클래스
     private String issuer;
-    private String secretKey;
+    private String secretKey; //기본 키(kid: default), kid가 없는 토큰도 이 키로 검증
+    private String signingKeyId = JwtKeyRing.DEFAULT_KEY_ID; //새 토큰 서명에 사용할 키의 kid
+    private Map<String, String> keys = new LinkedHashMap<>(); //추가 검증 키(kid -> secret), 키 교체 중에는 이전 키와 새 키를 함께 둠
+    private Set<String> adminEmails = new LinkedHashSet<>(); //토큰 인증 시 관리자 권한(ROLE_ADMIN)을 받는 유저 이메일
 }
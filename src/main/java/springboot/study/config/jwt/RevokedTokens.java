@@ -0,0 +1,91 @@
+package springboot.study.config.jwt;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import springboot.study.config.BlogProperties;
+import springboot.study.util.BloomFilter;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//만료 전에 폐기한 토큰 목록(토큰 단위: jti, 사용자 단위: 이 시각 이전에 발급된 토큰 전부)
+//요청마다 블룸 필터만 확인하고, 필터가 "있을 수도 있다"고 할 때만 정확한 목록을 확인
+//폐기 정보는 해당 토큰이 만료되면 필요 없으므로 주기적으로 정리하고 블룸 필터를 다시 만듦
+//메모리에만 보관하므로 재시작하면 폐기 목록이 사라지고, 여러 인스턴스 사이에 공유되지 않음
+@Component
+public class RevokedTokens {
+
+    private final BlogProperties.Revocation spec;
+    private final Map<String, Long> revokedTokenIds=new ConcurrentHashMap<>(); //jti -> 토큰 만료 시각(epoch 밀리초)
+    private final Map<Long, Long> revokedUsers=new ConcurrentHashMap<>(); //사용자 id -> 폐기 시각, 이때까지 발급된 토큰은 무효
+    private volatile BloomFilter filter;
+
+    public RevokedTokens(BlogProperties blogProperties){
+        this.spec=blogProperties.getRevocation();
+        this.filter=newFilter(0);
+    }
+
+    //토큰 하나 폐기(로그아웃), expiration이 없으면 보관 기간(retention)만큼 유지
+    public synchronized void revoke(String tokenId, Date expiration){
+        long expiresAt=expiration!=null
+                ? expiration.getTime()
+                : System.currentTimeMillis()+spec.getRetention().toMillis();
+        revokedTokenIds.merge(tokenId, expiresAt, Math::max);
+        filter.put(tokenIdKey(tokenId));
+    }
+
+    //사용자가 지금까지 발급받은 토큰 전부 폐기
+    public synchronized void revokeUser(Long userId){
+        revokedUsers.merge(userId, System.currentTimeMillis(), Math::max);
+        filter.put(userKey(userId));
+    }
+
+    public boolean isRevoked(Claims claims){
+        BloomFilter current=filter;
+        String tokenId=claims.getId();
+        if(tokenId!=null && current.mightContain(tokenIdKey(tokenId)) && revokedTokenIds.containsKey(tokenId)){
+            return true;
+        }
+
+        Long userId=claims.get("id", Long.class);
+        if(userId==null || !current.mightContain(userKey(userId))){
+            return false;
+        }
+        Long revokedAt=revokedUsers.get(userId);
+        Date issuedAt=claims.getIssuedAt();
+        //iat는 초 단위라서 폐기한 그 초에 발급된 토큰도 폐기된 것으로 봄
+        return revokedAt!=null && (issuedAt==null || issuedAt.getTime()<=revokedAt);
+    }
+
+    //만료된 폐기 정보를 지우고 남은 항목으로 블룸 필터를 새로 만듦(지운 항목의 비트를 비우기 위함)
+    @Scheduled(fixedDelayString = "${blog.revocation.purge-interval:PT10M}")
+    public synchronized void purge(){
+        long now=System.currentTimeMillis();
+        long userCutoff=now-spec.getRetention().toMillis(); //이보다 오래전 폐기는 그때 발급된 토큰이 모두 만료됨
+        revokedTokenIds.values().removeIf(expiresAt->expiresAt<=now);
+        revokedUsers.values().removeIf(revokedAt->revokedAt<=userCutoff);
+
+        BloomFilter rebuilt=newFilter(revokedTokenIds.size()+revokedUsers.size());
+        revokedTokenIds.keySet().forEach(tokenId->rebuilt.put(tokenIdKey(tokenId)));
+        revokedUsers.keySet().forEach(userId->rebuilt.put(userKey(userId)));
+        filter=rebuilt;
+    }
+
+    public int size(){
+        return revokedTokenIds.size()+revokedUsers.size();
+    }
+
+    private BloomFilter newFilter(int entries){
+        return new BloomFilter(Math.max(spec.getExpectedRevocations(), entries*2L), spec.getFalsePositiveRate());
+    }
+
+    private static String tokenIdKey(String tokenId){
+        return "j:" + tokenId;
+    }
+
+    private static String userKey(Long userId){
+        return "u:" + userId;
+    }
+}
@@ -1,66 +1,134 @@
 package springboot.study.config.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.micrometer.core.annotation.Timed;
 import io.jsonwebtoken.Header;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 import springboot.study.domain.User;
+import springboot.study.util.DigestUtil;
 
 import java.time.Duration;
-import java.util.Collections;
 import java.util.Date;
 import java.util.Set;
+import java.util.UUID;
 
 @RequiredArgsConstructor
 @Service
 public class TokenProvider {
 
+    private static final long VERIFIED_TOKEN_CACHE_SIZE = 100_000;
+    private static final Duration VERIFIED_TOKEN_MAX_TTL = Duration.ofMinutes(10); //exp가 더 멀어도 이 시간이 지나면 다시 검증
+    private static final Set<SimpleGrantedAuthority> USER_AUTHORITIES = Set.of(new SimpleGrantedAuthority("ROLE_USER"));
+    private static final Set<SimpleGrantedAuthority> ADMIN_AUTHORITIES = Set.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"));
+
     private final JwtProperties jwtProperties;
+    private final JwtKeyRing jwtKeyRing;
+    private final RevokedTokens revokedTokens;
+
+    //검증에 성공한 토큰의 클레임(키: 토큰의 SHA-256), 토큰의 exp보다 늦게 남아있지 않음
+    private final Cache<String, Claims> verifiedTokens=Caffeine.newBuilder()
+            .maximumSize(VERIFIED_TOKEN_CACHE_SIZE)
+            .expireAfter(new Expiry<String, Claims>() {
+                @Override
+                public long expireAfterCreate(String key, Claims claims, long currentTime){
+                    long untilExpiry=claims.getExpiration()==null
+                            ? Long.MAX_VALUE
+                            : Duration.ofMillis(claims.getExpiration().getTime()-System.currentTimeMillis()).toNanos();
+                    return Math.max(0, Math.min(untilExpiry, VERIFIED_TOKEN_MAX_TTL.toNanos()));
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration){
+                    return currentDuration;
+                }
 
+                @Override
+                public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration){
+                    return currentDuration;
+                }
+            })
+            .build();
+
+    @Timed(value = "jwt.generate", histogram = true)
     public String generateToken(User user, Duration expiredAt) {
+        return generateToken(user.getId(), user.getEmail(), expiredAt);
+    }
+
+    //엔티티 없이 id, 이메일만으로 토큰 생성(리프레시 시 사용자 조회를 생략)
+    @Timed(value = "jwt.generate", histogram = true)
+    public String generateToken(Long userId, String email, Duration expiredAt) {
         Date now = new Date();
-        return makeToken(new Date(now.getTime() + expiredAt.toMillis()), user);
+        return makeToken(new Date(now.getTime() + expiredAt.toMillis()), userId, email);
     }
 
-    private String makeToken(Date expiry, User user) { //토큰 생성 메서드
+    private String makeToken(Date expiry, Long userId, String email) { //토큰 생성 메서드
         Date now = new Date();
+        JwtKeyRing.SigningKey signingKey = jwtKeyRing.signingKey();
 
         return Jwts.builder()
                 .setHeaderParam(Header.TYPE, Header.JWT_TYPE) //헤더 타입: jwt
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.id()) //헤더 kid: 검증할 때 사용할 키
                 .setIssuer(jwtProperties.getIssuer()) //내용 iss: application.yml에서 설정한 issuer 값
+                .setId(UUID.randomUUID().toString()) //내용 jti: 토큰 하나만 폐기할 때 사용
                 .setIssuedAt(now) //내용 iat: 현재 시간
                 .setExpiration(expiry) //내용 exp: expiry 멤버 변수값
-                .setSubject(user.getEmail()) //내용 sub: 유저의 이메일
-                .claim("id", user.getId()) //클레임 id: 유저 아이디
-                .signWith(SignatureAlgorithm.HS256, jwtProperties.getSecretKey()) //서명: secretkey와 함께 해시값 암호화
+                .setSubject(email) //내용 sub: 유저의 이메일
+                .claim("id", userId) //클레임 id: 유저 아이디
+                .signWith(jwtKeyRing.algorithm(), signingKey.key()) //서명: 현재 서명 키와 함께 해시값 암호화
                 .compact();
     }
 
-    //jwt 토큰 유효성 검증 메소드
-    public boolean validToken(String token) {
-        try {
-            Jwts.parser()
-                    .setSigningKey(jwtProperties.getSecretKey()) //암호 복호화
-                    .parseClaimsJws(token);
+    //새 키로 서명 키 교체, 이전 키로 발급된 토큰은 그대로 유효
+    public void rotateKey(String keyId, String secret) {
+        jwtKeyRing.rotate(keyId, secret);
+    }
 
-            return true;
-        } catch (Exception e) { // 복호화 에러시 유효하지 x
-            return false;
+    //검증 키 제거, 이미 검증해둔 토큰도 다시 검증하도록 캐시를 비움
+    public void retireKey(String keyId) {
+        jwtKeyRing.retire(keyId);
+        verifiedTokens.invalidateAll();
+    }
+
+    //토큰 폐기(로그아웃), 토큰이 만료될 때까지 유효성 검증에 실패함
+    public Claims revoke(String token) {
+        Claims claims = getClaims(token);
+        if (claims.getId() != null) {
+            revokedTokens.revoke(claims.getId(), claims.getExpiration());
+        } else if (claims.get("id") != null) { //jti가 없는 이전 토큰은 하나만 골라 폐기할 수 없으므로 사용자의 토큰 전부 폐기
+            revokedTokens.revokeUser(claims.get("id", Long.class));
         }
+        return claims;
+    }
+
+    //jwt 토큰 유효성 검증 메소드
+    @Timed(value = "jwt.validate", histogram = true)
+    public boolean validToken(String token) {
+        return verify(token) != null;
     }
 
+    //토큰을 한 번만 검증해서 인증 정보까지 만드는 메소드, 유효하지 않으면 null(요청마다 인증 필터에서 호출)
+    @Timed(value = "jwt.validate", histogram = true)
+    public Authentication authenticate(String token) {
+        Claims claims = verify(token);
+        return claims == null ? null : toAuthentication(claims, token);
+    }
 
     public Authentication getAuthentication(String token) { //토큰 기반 인증 정보 가져오는 메소드
-        Claims claims = getClaims(token);
-        Set<SimpleGrantedAuthority> authorities = Collections.singleton(new SimpleGrantedAuthority("ROLE_USER"));
+        return toAuthentication(getClaims(token), token);
+    }
 
-        return new UsernamePasswordAuthenticationToken(new org.springframework.security.core.userdetails.User(claims.getSubject
-                (), "", authorities), token, authorities);
+    //토큰의 만료 시각(exp), 유효하지 않은 토큰이면 예외
+    public Date getExpiration(String token) {
+        return getClaims(token).getExpiration();
     }
 
     //토큰 기반 id 가져오는 메소드
@@ -69,10 +137,53 @@ public class TokenProvider {
         return claims.get("id", Long.class);
     }
 
+    private Authentication toAuthentication(Claims claims, String token) {
+        //관리자 여부는 토큰이 아니라 설정(jwt.admin-emails)으로 판단, 설정에서 빼면 이미 발급된 토큰도 바로 권한을 잃음
+        Set<SimpleGrantedAuthority> authorities = jwtProperties.getAdminEmails().contains(claims.getSubject())
+                ? ADMIN_AUTHORITIES
+                : USER_AUTHORITIES;
+
+        return new UsernamePasswordAuthenticationToken(new org.springframework.security.core.userdetails.User(claims.getSubject
+                (), "", authorities), token, authorities);
+    }
+
     private Claims getClaims(String token) { //클레임 조회
-        return Jwts.parser()
-                .setSigningKey(jwtProperties.getSecretKey())
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = verify(token);
+        if (claims == null) {
+            throw new IllegalArgumentException("Unexpected token");
+        }
+        return claims;
+    }
+
+    //서명, 만료, 폐기 여부 검증 후 클레임 반환(유효하지 않으면 null)
+    private Claims verify(String token) {
+        Claims claims = verifySignature(token);
+        if (claims == null || revokedTokens.isRevoked(claims)) { //폐기는 캐시한 뒤에도 일어날 수 있으므로 매번 확인
+            return null;
+        }
+        return claims;
+    }
+
+    //서명, 만료 검증 후 클레임 반환(유효하지 않으면 null), 이미 검증한 토큰은 서명 확인과 파싱을 건너뜀
+    private Claims verifySignature(String token) {
+        if (token == null) {
+            return null;
+        }
+
+        String key = DigestUtil.sha256(token);
+        Claims cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        try {
+            Claims claims = jwtKeyRing.parser() //헤더의 kid로 고른 키로 복호화
+                    .parseClaimsJws(token)
+                    .getBody();
+            verifiedTokens.put(key, claims);
+            return claims;
+        } catch (Exception e) { // 복호화 에러시 유효하지 x
+            return null;
+        }
     }
 }
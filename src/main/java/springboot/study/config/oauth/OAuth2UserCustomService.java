@@ -1,20 +1,36 @@
 package springboot.study.config.oauth;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
+import springboot.study.config.BlogProperties;
 import springboot.study.domain.User;
 import springboot.study.repository.UserRepository;
+import springboot.study.service.UserDetailsCache;
 
 import java.util.Map;
+import java.util.Optional;
 
-@RequiredArgsConstructor
 @Service
 public class OAuth2UserCustomService extends DefaultOAuth2UserService {
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final Cache<String, String> nicknames; //최근 로그인한 유저(이메일 -> DB에 저장된 이름)
+
+    public OAuth2UserCustomService(UserRepository userRepository, UserDetailsCache userDetailsCache, BlogProperties blogProperties){
+        this.userRepository=userRepository;
+        this.userDetailsCache=userDetailsCache;
+        BlogProperties.CacheSpec spec=blogProperties.getOauthUserCache();
+        this.nicknames=Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfterWrite(spec.getExpireAfterWrite())
+                .build();
+    }
 
     @Override
     public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException{
@@ -24,17 +40,40 @@ public class OAuth2UserCustomService extends DefaultOAuth2UserService {
         return user;
     }
 
-    //유저가 있으면 업데이트, 없으면 유저 생성
-    private User saveOrUpdate(OAuth2User oAuth2User){
+    //유저가 있으면 업데이트, 없으면 유저 생성, 이름이 그대로면 쓰지 않음
+    void saveOrUpdate(OAuth2User oAuth2User){
         Map<String,Object> attributes=oAuth2User.getAttributes();
         String email=(String) attributes.get("email");
         String name=(String) attributes.get("name");
-        User user=userRepository.findByEmail(email)
-                .map(entity->entity.update(name)) //업데이트
-                .orElse(User.builder() //유저 생성
-                        .email(email)
-                        .nickname(name)
-                        .build());
-        return userRepository.save(user);
+
+        if(name!=null && name.equals(nicknames.getIfPresent(email))){ //최근에 확인한 이름과 같으면 DB 조회도 생략
+            return;
+        }
+
+        Optional<String> savedName=userRepository.findNicknameByEmail(email);
+        if(name==null || !savedName.equals(Optional.of(name))){
+            upsertNickname(email, name);
+            userDetailsCache.evictAfterCommit(email); //폼 로그인용으로 캐시한 정보가 있으면 제거
+        }
+        if(name!=null){
+            nicknames.put(email, name);
+        }
+    }
+
+    //있으면 이름만 변경, 없으면 생성(DB 종류에 상관없이 update 후 insert, email 유니크 제약으로 중복 생성 방지)
+    private void upsertNickname(String email, String name){
+        if(userRepository.updateNicknameByEmail(email, name)>0){
+            return;
+        }
+        try {
+            userRepository.save(User.builder()
+                    .email(email)
+                    .nickname(name)
+                    .build());
+        } catch (DataIntegrityViolationException e) { //같은 이메일의 첫 로그인이 동시에 들어와 다른 요청이 먼저 생성함
+            if(userRepository.updateNicknameByEmail(email, name)==0){ //이메일이 아닌 다른 제약(이름 중복) 위반
+                throw e;
+            }
+        }
     }
 }
@@ -0,0 +1,48 @@
+package springboot.study.config.query;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+//요청 하나에서 실행한 쿼리 수를 세고 예산(statement-budget)을 넘으면 경고(N+1 의심)
+@Slf4j
+@RequiredArgsConstructor
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final QueryLogProperties queryLogProperties;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        if (!queryLogProperties.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        QueryCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCounter.Stats stats = QueryCounter.stop();
+            int budget = queryLogProperties.getStatementBudget();
+            if (stats != null && stats.getCount() > budget) {
+                log.warn("query budget exceeded method={} uri={} status={} statements={} budget={} queryTimeMs={}",
+                        request.getMethod(),
+                        request.getRequestURI(),
+                        response.getStatus(),
+                        stats.getCount(),
+                        budget,
+                        stats.getElapsedMillis());
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package springboot.study.config.query;
+
+//요청을 처리하는 스레드에서 실행한 쿼리 수, 시간 집계(요청 밖의 스케줄 작업 등은 집계하지 않음)
+public final class QueryCounter {
+
+    private static final ThreadLocal<Stats> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static void start() {
+        CURRENT.set(new Stats());
+    }
+
+    //집계를 끝내고 결과 반환, start() 없이 호출하면 null
+    public static Stats stop() {
+        Stats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    static void record(long elapsedMillis) {
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            stats.count++;
+            stats.elapsedMillis += elapsedMillis;
+        }
+    }
+
+    //한 스레드에서만 쓰므로 동기화하지 않음
+    public static class Stats {
+        private int count; //배치는 한 번으로 셈(DB 왕복 횟수)
+        private long elapsedMillis;
+
+        public int getCount() {
+            return count;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package springboot.study.config.query;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class QueryLogConfig {
+
+    @Bean
+    public QueryLogListener queryLogListener(QueryLogProperties queryLogProperties){
+        return new QueryLogListener(queryLogProperties);
+    }
+
+    //하이버네이트, 스프링 데이터가 쓰는 DataSource를 감싸서 모든 JDBC 실행을 QueryLogListener로 전달
+    //(unwrap은 원래 HikariDataSource로 위임되므로 커넥션 풀 메트릭은 그대로 수집됨)
+    @Bean
+    public static BeanPostProcessor queryLogDataSourcePostProcessor(ObjectProvider<QueryLogListener> queryLogListener){
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName){
+                if(!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource){
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(queryLogListener.getObject())
+                        .build();
+            }
+        };
+    }
+
+    @Bean
+    public QueryCountFilter queryCountFilter(QueryLogProperties queryLogProperties){
+        return new QueryCountFilter(queryLogProperties);
+    }
+
+    //관측(http.server.requests) 필터 다음, 스프링 시큐리티 필터보다 먼저 실행해서 인증 중의 쿼리(사용자 조회)도 셈
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilterRegistration(QueryCountFilter queryCountFilter){
+        FilterRegistrationBean<QueryCountFilter> registration=new FilterRegistrationBean<>(queryCountFilter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE+2);
+        return registration;
+    }
+
+    @Bean
+    public QueryLogEndpoint queryLogEndpoint(QueryLogProperties queryLogProperties){
+        return new QueryLogEndpoint(queryLogProperties);
+    }
+}
@@ -0,0 +1,61 @@
+package springboot.study.config.query;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.security.access.prepost.PreAuthorize;
+
+import java.time.Duration;
+
+//실행 중에 쿼리 로그 설정 조회, 변경, 재시작하면 application.yml 값으로 돌아감
+//웹(/actuator/querylog)에 노출하지만 모니터링을 끌 수 있으므로 관리자만 조회, 변경 가능(토큰 폐기 API와 같은 방식)
+@RequiredArgsConstructor
+@Endpoint(id = "querylog")
+public class QueryLogEndpoint {
+
+    private final QueryLogProperties queryLogProperties;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @ReadOperation
+    public Settings settings() {
+        return Settings.of(queryLogProperties);
+    }
+
+    //보낸 값만 바꿈 예) {"slowQueryThreshold": "50ms", "statementBudget": 10}
+    @PreAuthorize("hasRole('ADMIN')")
+    @WriteOperation
+    public Settings configure(@Nullable Boolean enabled,
+                              @Nullable Duration slowQueryThreshold,
+                              @Nullable Integer statementBudget,
+                              @Nullable Boolean logParameters) {
+        if (slowQueryThreshold != null && slowQueryThreshold.isNegative()) {
+            throw new IllegalArgumentException("slowQueryThreshold must not be negative");
+        }
+        if (statementBudget != null && statementBudget < 0) {
+            throw new IllegalArgumentException("statementBudget must not be negative");
+        }
+
+        if (enabled != null) {
+            queryLogProperties.setEnabled(enabled);
+        }
+        if (slowQueryThreshold != null) {
+            queryLogProperties.setSlowQueryThreshold(slowQueryThreshold);
+        }
+        if (statementBudget != null) {
+            queryLogProperties.setStatementBudget(statementBudget);
+        }
+        if (logParameters != null) {
+            queryLogProperties.setLogParameters(logParameters);
+        }
+        return Settings.of(queryLogProperties);
+    }
+
+    public record Settings(boolean enabled, Duration slowQueryThreshold, int statementBudget, boolean logParameters) {
+        static Settings of(QueryLogProperties properties) {
+            return new Settings(properties.isEnabled(), properties.getSlowQueryThreshold(),
+                    properties.getStatementBudget(), properties.isLogParameters());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package springboot.study.config.query;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+//JDBC 실행마다 호출, 요청별 쿼리 수를 세고 느린 쿼리만 key=value 형태 한 줄로 로그
+@Slf4j
+@RequiredArgsConstructor
+public class QueryLogListener implements QueryExecutionListener {
+
+    private static final int MAX_SQL_LENGTH = 2_000;
+    private static final int MAX_PARAMETER_LENGTH = 100;
+    private static final String MASK = "****";
+    //insert into users (email, nickname, password, id) values (?, ?, ?, default)
+    private static final Pattern INSERT_COLUMNS = Pattern.compile("^\\s*insert\\s+into\\s+\\S+\\s*\\(([^)]*)\\)", Pattern.CASE_INSENSITIVE);
+    //? 바로 앞에서 비교하는 컬럼 예) u1_0.email=?, password = ?, nickname like ?
+    private static final Pattern COMPARED_COLUMN = Pattern.compile("([A-Za-z_][\\w.]*)\\s*(?:=|<>|!=|<=|>=|<|>|\\s(?i:like))\\s*$");
+
+    private final QueryLogProperties queryLogProperties;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (!queryLogProperties.isEnabled()) {
+            return;
+        }
+
+        long elapsedMillis = execInfo.getElapsedTime();
+        QueryCounter.record(elapsedMillis);
+
+        if (elapsedMillis >= queryLogProperties.getSlowQueryThreshold().toMillis()) {
+            logSlowQuery(execInfo, queryInfoList);
+        }
+    }
+
+    private void logSlowQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        for (QueryInfo queryInfo : queryInfoList) {
+            log.warn("slow query elapsedMs={} success={} batch={} batchSize={} sql=\"{}\" params={}",
+                    execInfo.getElapsedTime(),
+                    execInfo.isSuccess(),
+                    execInfo.isBatch(),
+                    execInfo.getBatchSize(),
+                    abbreviate(queryInfo.getQuery().replaceAll("\\s+", " "), MAX_SQL_LENGTH),
+                    queryLogProperties.isLogParameters()
+                            ? parameters(queryInfo, queryLogProperties.getSensitiveColumns())
+                            : "[hidden]");
+        }
+    }
+
+    //배치는 첫 번째 파라미터 묶음만 남김(나머지는 batchSize로 대신함), 민감한 컬럼과 어떤 컬럼인지 알 수 없는 값은 ****로 가림
+    private static String parameters(QueryInfo queryInfo, Set<String> sensitiveColumns) {
+        List<List<ParameterSetOperation>> parametersList = queryInfo.getParametersList();
+        if (parametersList.isEmpty()) {
+            return "[]";
+        }
+        List<String> columns = parameterColumns(queryInfo.getQuery());
+        return parametersList.get(0).stream()
+                .map(operation -> {
+                    Object[] args = operation.getArgs();
+                    if (args.length < 2) {
+                        return args[0] + "=";
+                    }
+                    String value = isSensitive(args[0], columns, sensitiveColumns)
+                            ? MASK
+                            : abbreviate(String.valueOf(args[1]), MAX_PARAMETER_LENGTH);
+                    return args[0] + "=" + value;
+                })
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    //파라미터 순서(1부터)는 setXxx의 첫 번째 인자
+    //컬럼을 알 수 없으면(in (?, ?), 함수 인자, 이름으로 바인딩 등) 민감한 값일 수 있으므로 가림
+    private static boolean isSensitive(Object index, List<String> columns, Set<String> sensitiveColumns) {
+        if (!(index instanceof Integer position) || position < 1 || position > columns.size()) {
+            return true;
+        }
+        String column = columns.get(position - 1);
+        return column == null || sensitiveColumns.contains(column);
+    }
+
+    //?마다 바인딩되는 컬럼 이름(별칭 제외, 소문자), 알 수 없으면 null
+    static List<String> parameterColumns(String sql) {
+        Matcher insert = INSERT_COLUMNS.matcher(sql);
+        if (insert.find()) {
+            return Arrays.stream(insert.group(1).split(","))
+                    .map(QueryLogListener::columnName)
+                    .toList();
+        }
+
+        List<String> columns = new ArrayList<>();
+        for (int i = sql.indexOf('?'); i >= 0; i = sql.indexOf('?', i + 1)) {
+            Matcher compared = COMPARED_COLUMN.matcher(sql.substring(0, i));
+            columns.add(compared.find() ? columnName(compared.group(1)) : null);
+        }
+        return columns;
+    }
+
+    private static String columnName(String identifier) {
+        String column = identifier.trim();
+        return column.substring(column.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static String abbreviate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength) + "...";
+    }
+}
@@ -0,0 +1,22 @@
+package springboot.study.config.query;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+
+//실행 중에도 /actuator/querylog로 값을 바꿀 수 있으므로 volatile
+@Getter
+@Setter
+@Component
+@ConfigurationProperties("query-log") //application.yml에 적은 query-log 프로퍼티 값을 가져옴
+public class QueryLogProperties {
+    private volatile boolean enabled = true; //false면 쿼리 수 집계와 느린 쿼리 로그를 모두 끔
+    private volatile Duration slowQueryThreshold = Duration.ofMillis(200); //이 시간 이상 걸린 쿼리만 로그
+    private volatile int statementBudget = 20; //요청 하나에서 실행할 수 있는 쿼리 수, 넘으면 경고(N+1 의심)
+    private volatile boolean logParameters = false; //느린 쿼리 로그에 바인딩 값 포함 여부, 켜도 sensitiveColumns 값과 컬럼을 알 수 없는 값은 가림
+    private volatile Set<String> sensitiveColumns = Set.of("password", "token_hash", "email"); //바인딩 값을 ****로 가릴 컬럼 이름(소문자)
+}
@@ -0,0 +1,25 @@
+package springboot.study.config.ratelimit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimitProperties rateLimitProperties){
+        return new RateLimitFilter(rateLimitProperties);
+    }
+
+    //스프링 시큐리티 필터 체인보다 먼저 실행해서 초과 요청은 인증(BCrypt, JWT) 전에 거절
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter){
+        FilterRegistrationBean<RateLimitFilter> registration=new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER-1);
+        return registration;
+    }
+}
@@ -0,0 +1,108 @@
+package springboot.study.config.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+//인증 관련 요청(회원가입, 로그인, 토큰 재발급)을 컨트롤러와 시큐리티 필터보다 먼저 IP, 계정별로 제한하는 필터
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final List<RouteLimiter> routes;
+
+    public RateLimitFilter(RateLimitProperties rateLimitProperties){
+        this.routes=rateLimitProperties.getRoutes().stream()
+                .map(RouteLimiter::new)
+                .toList();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        RouteLimiter route=findRoute(request);
+        if(route!=null){
+            long waitNanos=route.tryAcquire(request);
+            if(waitNanos>0){
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(RateLimiter.retryAfterSeconds(waitNanos)));
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval:PT1M}")
+    public void evictFull(){
+        routes.forEach(RouteLimiter::evictFull);
+    }
+
+    private RouteLimiter findRoute(HttpServletRequest request){
+        String path=request.getRequestURI().substring(request.getContextPath().length());
+        for(RouteLimiter route : routes){
+            if(route.matches(request.getMethod(), path)){
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static class RouteLimiter {
+        private final String method;
+        private final String path;
+        private final String accountParameter;
+        private final RateLimiter ipLimiter;
+        private final RateLimiter accountLimiter;
+
+        RouteLimiter(RateLimitProperties.Route route){
+            this.method=route.getMethod();
+            this.path=route.getPath();
+            this.accountParameter=route.getAccountParameter();
+            this.ipLimiter=new RateLimiter(route.getCapacity(), route.getRefillPeriod());
+            this.accountLimiter=accountParameter==null ? null : new RateLimiter(route.getCapacity(), route.getRefillPeriod());
+        }
+
+        boolean matches(String requestMethod, String requestPath){
+            return path.equals(requestPath) && method.equalsIgnoreCase(requestMethod);
+        }
+
+        //IP 버킷과 계정 버킷을 모두 확인(여러 IP로 한 계정을 노리거나 한 IP로 여러 계정을 노리는 경우 모두 제한)
+        long tryAcquire(HttpServletRequest request){
+            //프록시 뒤에서는 server.forward-headers-strategy 설정으로 원래 클라이언트 IP가 들어옴
+            long waitNanos=ipLimiter.tryAcquire(request.getRemoteAddr());
+            if(waitNanos>0 || accountLimiter==null){
+                return waitNanos;
+            }
+
+            String account=request.getParameter(accountParameter);
+            if(account==null || account.isBlank()){
+                return 0;
+            }
+            waitNanos=accountLimiter.tryAcquire(account.trim().toLowerCase(Locale.ROOT));
+            if(waitNanos>0){
+                log.info("rate limited account on {} {}", method, path);
+            }
+            return waitNanos;
+        }
+
+        void evictFull(){
+            ipLimiter.evictFull();
+            if(accountLimiter!=null){
+                accountLimiter.evictFull();
+            }
+        }
+    }
+}
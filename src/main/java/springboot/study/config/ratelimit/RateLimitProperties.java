@@ -0,0 +1,30 @@
+package springboot.study.config.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties("rate-limit") //application.yml에 적은 rate-limit 프로퍼티 값을 가져옴
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private Duration sweepInterval = Duration.ofMinutes(1); //가득 찬(오래 요청이 없던) 버킷을 정리하는 주기
+    private List<Route> routes = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Route {
+        private String path; //요청 경로(정확히 일치)
+        private String method = "POST";
+        private int capacity = 10; //한 번에 보낼 수 있는 최대 요청 수
+        private Duration refillPeriod = Duration.ofMinutes(1); //빈 버킷이 가득 차는 시간(평균 capacity / refillPeriod)
+        private String accountParameter; //지정하면 IP와 별도로 이 요청 파라미터(계정) 기준으로도 제한
+    }
+}
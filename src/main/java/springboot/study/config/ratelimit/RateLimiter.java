@@ -0,0 +1,67 @@
+package springboot.study.config.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+//키(IP, 계정)별 토큰 버킷
+//버킷 하나를 "다음 토큰이 다 차는 시각"(GCRA) long 하나로 표현해서 잠금 없이 CAS 한 번으로 확인
+//ConcurrentHashMap은 빈(bin) 단위로 나뉘어 있어 서로 다른 키끼리는 경합하지 않음
+public class RateLimiter {
+
+    private final long intervalNanos; //토큰 하나가 다시 차는 시간
+    private final long burstNanos; //버킷이 빈 상태에서 가득 찰 때까지 걸리는 시간(용량 * intervalNanos)
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, AtomicLong> buckets=new ConcurrentHashMap<>();
+
+    public RateLimiter(int capacity, Duration refillPeriod){
+        this(capacity, refillPeriod, System::nanoTime);
+    }
+
+    RateLimiter(int capacity, Duration refillPeriod, LongSupplier nanoClock){
+        if(capacity<=0 || refillPeriod.isNegative() || refillPeriod.isZero()){
+            throw new IllegalArgumentException("capacity and refill period must be positive");
+        }
+        this.intervalNanos=Math.max(1, refillPeriod.toNanos()/capacity);
+        this.burstNanos=intervalNanos*capacity;
+        this.nanoClock=nanoClock;
+    }
+
+    //토큰 하나를 사용, 허용되면 0, 아니면 다시 시도할 수 있을 때까지 남은 시간(나노초)
+    public long tryAcquire(String key){
+        AtomicLong bucket=buckets.get(key);
+        if(bucket==null){
+            bucket=buckets.computeIfAbsent(key, k->new AtomicLong(Long.MIN_VALUE));
+        }
+
+        while(true){
+            long now=nanoClock.getAsLong();
+            long fullAt=bucket.get();
+            long next=Math.max(fullAt, now)+intervalNanos; //토큰 하나를 쓰면 가득 차는 시각이 interval만큼 늦어짐
+            if(next-now>burstNanos){ //남은 토큰이 없음
+                return next-now-burstNanos;
+            }
+            if(bucket.compareAndSet(fullAt, next)){
+                return 0;
+            }
+        }
+    }
+
+    //Retry-After 헤더 값(초, 올림)
+    public static long retryAfterSeconds(long waitNanos){
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos+TimeUnit.SECONDS.toNanos(1)-1));
+    }
+
+    //가득 찬 버킷은 새 버킷과 같으므로 제거해서 메모리를 돌려받음
+    //제거와 동시에 들어온 요청은 새 버킷을 받을 수 있지만 이미 가득 찬 버킷이었으므로 허용량은 같음
+    public void evictFull(){
+        long now=nanoClock.getAsLong();
+        buckets.values().removeIf(bucket->bucket.get()<=now);
+    }
+
+    public int size(){
+        return buckets.size();
+    }
+}
@@ -1,21 +1,38 @@
 package springboot.study.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import springboot.study.domain.Article;
 import springboot.study.dto.AddArticleRequest;
+import springboot.study.dto.ArticleExportResponse;
+import springboot.study.dto.ArticleListViewResponse;
 import springboot.study.dto.ArticleResponse;
+import springboot.study.dto.ArticleSummary;
+import springboot.study.dto.ArticleVersion;
+import springboot.study.dto.ArticleViewCountResponse;
+import springboot.study.dto.CacheStatsResponse;
 import springboot.study.dto.UpdateArticleRequest;
 import springboot.study.service.BlogService;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RequiredArgsConstructor
 @RestController
 public class BlogApiController {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BlogService blogService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/api/articles") //글 추가
     public ResponseEntity<Article> addArticle(@RequestBody AddArticleRequest addArticleRequest){
@@ -24,25 +41,79 @@ public class BlogApiController {
                 .body(savedArticle); //성공시 201 응답 코드 반환
     }
 
-    @GetMapping("/api/articles") //글 전체 조회
-    public ResponseEntity<List<ArticleResponse>> findAllArticles(){
-        List<ArticleResponse> articles=blogService.findAll()
+    @PostMapping("/api/articles/batch") //여러 글 한 번에 추가, 추가된 글의 id 목록 반환
+    public ResponseEntity<List<Long>> addArticles(@RequestBody List<AddArticleRequest> addArticleRequests){
+        List<Long> savedIds=blogService.saveAll(addArticleRequests);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(savedIds);
+    }
+
+    @GetMapping("/api/articles") //글 목록 조회(커서 기반), 다음 페이지 커서는 응답 헤더로 전달
+    public ResponseEntity<List<ArticleResponse>> findAllArticles(@RequestParam(required = false) String cursor,
+                                                                 @RequestParam(defaultValue = "" + BlogService.DEFAULT_PAGE_SIZE) int size){
+        Slice<ArticleSummary> page=blogService.findPage(cursor, size);
+        List<ArticleResponse> articles=page.getContent()
                 .stream()
                 .map(ArticleResponse::new)
                 .toList();
 
+        ResponseEntity.BodyBuilder response=ResponseEntity.ok();
+        String nextCursor=blogService.nextCursor(page);
+        if(nextCursor!=null){
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(articles);
+    }
+
+    @GetMapping(value = "/api/articles/export", produces = MediaType.APPLICATION_NDJSON_VALUE) //전체 글 내보내기, 한 줄에 글 하나
+    public ResponseEntity<StreamingResponseBody> exportArticles(){
+        StreamingResponseBody body=outputStream->blogService.exportAll(
+                article->writeLine(outputStream, new ArticleExportResponse(article)));
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/api/articles/search") //제목, 내용 검색(점수 높은 순)
+    public ResponseEntity<List<ArticleListViewResponse>> searchArticles(@RequestParam("q") String query,
+                                                                        @RequestParam(defaultValue = "10") int size){
+        List<ArticleListViewResponse> articles=blogService.search(query, size)
+                .stream()
+                .map(ArticleListViewResponse::new)
+                .toList();
+
         return ResponseEntity.ok()
                 .body(articles);
     }
 
     @GetMapping("api/articles/{id}") //url 경로에서 id값 추출
-    public ResponseEntity<ArticleResponse> findArticle(@PathVariable long id){
+    public ResponseEntity<ArticleResponse> findArticle(@PathVariable long id, WebRequest webRequest){
+        //글이 바뀌지 않았으면 본문을 읽지 않고 304 응답(ETag, Last-Modified 헤더도 함께 설정됨)
+        ArticleVersion version=blogService.findVersion(id); //없는 글이면 예외, 조회수를 세지 않음
+        blogService.increaseViewCount(id);
+        if(webRequest.checkNotModified(version.getETag(), version.getLastModified())){
+            return null;
+        }
+
         Article article=blogService.findById(id);
 
         return ResponseEntity.ok()
                 .body(new ArticleResponse(article));
     }
 
+    @GetMapping("/api/articles/most-viewed") //많이 본 글 목록
+    public ResponseEntity<List<ArticleViewCountResponse>> findMostViewedArticles(){
+        return ResponseEntity.ok()
+                .body(blogService.findMostViewed());
+    }
+
+    @GetMapping("/api/articles/cache-stats") //글 조회 캐시 통계
+    public ResponseEntity<CacheStatsResponse> getCacheStats(){
+        return ResponseEntity.ok()
+                .body(blogService.getCacheStats());
+    }
+
     @DeleteMapping("/api/articles/{id}")
     public ResponseEntity<Void> deleteArticle(@PathVariable long id){ //url에서 {id}에 해당하는 값이 PathVariable을 통해 들어옴
         blogService.delete(id);
@@ -59,4 +130,12 @@ public class BlogApiController {
                 .body(updatedArticle);
     }
 
+    private void writeLine(OutputStream outputStream, Object value){
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(value));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
\ No newline at end of file
@@ -1,13 +1,17 @@
 package springboot.study.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
 import springboot.study.domain.Article;
-import springboot.study.dto.ArticleListViewResponse;
+import springboot.study.dto.ArticleSummary;
+import springboot.study.dto.ArticleVersion;
 import springboot.study.dto.ArticleViewResponse;
+import springboot.study.service.ArticleFragmentCache;
 import springboot.study.service.BlogService;
 import org.springframework.ui.Model;
 
@@ -17,21 +21,30 @@ import java.util.List;
 @Controller
 public class BlogViewController { //블로그 글 전체 리스트를 담는 뷰 컨트롤러
     private final BlogService blogService;
+    private final ArticleFragmentCache articleFragmentCache;
 
     @GetMapping("/articles")
-    public String getArticles(Model model) {
-        List<ArticleListViewResponse> articles = blogService.findAll().stream()
-                .map(ArticleListViewResponse::new)
+    public String getArticles(@RequestParam(required = false) String cursor, Model model) {
+        Slice<ArticleSummary> page = blogService.findPage(cursor, BlogService.DEFAULT_PAGE_SIZE);
+        List<String> cards = page.getContent().stream()
+                .map(articleFragmentCache::card) //바뀌지 않은 글은 렌더링하지 않고 캐시된 HTML 사용
                 .toList();
-        model.addAttribute("articles", articles);
+        model.addAttribute("cards", cards);
+        model.addAttribute("nextCursor", blogService.nextCursor(page)); //마지막 페이지면 null
 
         return "articleList";
     }
 
     @GetMapping("/articles/{id}")
-    public String getArticle(@PathVariable Long id, Model model) {
+    public String getArticle(@PathVariable Long id, Model model, WebRequest webRequest) {
+        ArticleVersion version = blogService.findVersion(id); //없는 글이면 예외, 조회수를 세지 않음
+        blogService.increaseViewCount(id);
+        if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) { //바뀌지 않았으면 304 응답
+            return null;
+        }
+
         Article article = blogService.findById(id);
-        model.addAttribute("article", new ArticleViewResponse(article));
+        model.addAttribute("articleHtml", articleFragmentCache.body(article));
 
         return "article";
     }
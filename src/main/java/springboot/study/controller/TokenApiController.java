@@ -1,18 +1,27 @@
 package springboot.study.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 import springboot.study.dto.CreateAccessTokenRequest;
 import springboot.study.dto.CreateAccessTokenResponse;
+import springboot.study.dto.RevokeTokenRequest;
+import springboot.study.dto.RotateSigningKeyRequest;
 import springboot.study.service.TokenService;
 
 @RequiredArgsConstructor
 @RestController
 public class TokenApiController {
+    private final static String TOKEN_PREFIX = "Bearer ";
+
     private final TokenService tokenService;
 
     //리프레시 토큰을 기반으로 새로운 액세스 토큰 생성
@@ -22,4 +31,50 @@ public class TokenApiController {
 
         return ResponseEntity.status(HttpStatus.CREATED).body(new CreateAccessTokenResponse(newAccessToken));
     }
+
+    //로그아웃: 요청 헤더의 액세스 토큰을 만료 전에 폐기
+    @DeleteMapping("/api/token")
+    public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorizationHeader){
+        String accessToken=authorizationHeader.startsWith(TOKEN_PREFIX)
+                ? authorizationHeader.substring(TOKEN_PREFIX.length())
+                : authorizationHeader;
+        try {
+            tokenService.logout(accessToken);
+        } catch (IllegalArgumentException e) { //서명이 틀리거나 만료, 폐기된 토큰
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        return ResponseEntity.noContent().build();
+    }
+
+    //관리자용 토큰 폐기(jti 또는 사용자 단위)
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/api/admin/token-revocations")
+    public ResponseEntity<Void> revoke(@RequestBody RevokeTokenRequest request){
+        tokenService.revoke(request);
+
+        return ResponseEntity.noContent().build();
+    }
+
+    //관리자용 서명 키 교체: 새 토큰은 새 키로 서명, 이미 발급된 토큰(세션)은 그대로 유효
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/api/admin/signing-keys")
+    public ResponseEntity<Void> rotateSigningKey(@RequestBody RotateSigningKeyRequest request){
+        try {
+            tokenService.rotateSigningKey(request);
+        } catch (IllegalArgumentException e) { //빠진 값, 이미 있는 kid, base64가 아닌 secret
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.noContent().build();
+    }
+
+    //관리자용 이전 검증 키 제거(이전 키로 발급된 토큰이 모두 만료된 뒤에 호출)
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping("/api/admin/signing-keys/{keyId}")
+    public ResponseEntity<Void> retireSigningKey(@PathVariable String keyId){
+        tokenService.retireSigningKey(keyId);
+
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -7,15 +7,22 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 
+@EntityListeners(AuditingEntityListener.class) //생성, 수정 시간 자동 기록
+@Table(indexes = @Index(name = "idx_article_view_count", columnList = "view_count")) //조회수 순위용
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Article {
+    public static final int EXCERPT_LENGTH = 150; //목록에 보여줄 요약 길이
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // 기본키 자동 1씩 증가
+    //시퀀스에서 50개씩 미리 받아두고(pooled) 사용, IDENTITY와 달리 insert를 JDBC 배치로 묶을 수 있음
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "article_seq")
+    @SequenceGenerator(name = "article_seq", sequenceName = "article_seq", allocationSize = 50)
     @Column(name="id",updatable = false) //기본키는 불변
     private Long id;
 
@@ -25,6 +32,9 @@ public class Article {
     @Column(name="content", nullable = false)
     private String content;
 
+    @Column(name="excerpt", length = EXCERPT_LENGTH) //목록 조회 시 content 대신 읽는 요약본
+    private String excerpt;
+
     @CreatedDate
     @Column(name="created_at")
     private LocalDateTime createdAt;
@@ -33,15 +43,32 @@ public class Article {
     @Column(name="updated_at")
     private LocalDateTime updatedAt;
 
+    @Version //수정될 때마다 1씩 증가, ETag 값으로 사용
+    @Column(name="version", nullable = false)
+    private Long version;
+
+    //조회수는 ArticleViewCounter가 모아서 직접 UPDATE하므로 엔티티 수정 시에는 덮어쓰지 않음
+    @Column(name="view_count", nullable = false, updatable = false)
+    private long viewCount;
+
     @Builder //객체 생성
     public Article(String title, String content){
         this.title=title;
         this.content=content;
+        this.excerpt=excerptOf(content);
     }
 
     public void update(String title,String content){
         this.title=title;
         this.content=content;
+        this.excerpt=excerptOf(content); //내용이 바뀌면 요약도 함께 갱신
+    }
+
+    private static String excerptOf(String content){
+        if(content==null || content.length()<=EXCERPT_LENGTH){
+            return content;
+        }
+        return content.substring(0, EXCERPT_LENGTH);
     }
 
 }
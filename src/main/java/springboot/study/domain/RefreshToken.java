@@ -3,7 +3,11 @@ package springboot.study.domain;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import springboot.study.util.DigestUtil;
 
+import java.time.LocalDateTime;
+
+@Table(indexes = @Index(name = "idx_refresh_token_expires_at", columnList = "expires_at")) //만료된 토큰 정리용
 @NoArgsConstructor
 @Getter
 @Entity
@@ -17,16 +21,22 @@ public class RefreshToken {
     @Column(name="user_id",nullable = false,unique = true)
     private Long userId;
 
-    @Column(name="refresh_token",nullable = false)
-    private String refreshToken;
+    //토큰 원문 대신 SHA-256 해시(64자)만 저장, unique 제약으로 인덱스가 생겨 해시로 바로 조회
+    @Column(name="token_hash",nullable = false,unique = true,length = 64)
+    private String tokenHash;
+
+    @Column(name="expires_at",nullable = false)
+    private LocalDateTime expiresAt; //토큰의 exp 클레임과 같은 값
 
-    public RefreshToken(Long userId,String refreshToken){
+    public RefreshToken(Long userId,String refreshToken,LocalDateTime expiresAt){
         this.userId=userId;
-        this.refreshToken=refreshToken;
+        this.tokenHash=DigestUtil.sha256(refreshToken);
+        this.expiresAt=expiresAt;
     }
 
-    public RefreshToken update(String newRefreshToken){
-        this.refreshToken=newRefreshToken;
+    public RefreshToken update(String newRefreshToken,LocalDateTime expiresAt){
+        this.tokenHash=DigestUtil.sha256(newRefreshToken);
+        this.expiresAt=expiresAt;
         return this;
     }
 }
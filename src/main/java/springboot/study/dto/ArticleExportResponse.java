@@ -0,0 +1,24 @@
+package springboot.study.dto;
+
+import lombok.Getter;
+import springboot.study.domain.Article;
+
+import java.time.LocalDateTime;
+
+//내보내기(NDJSON) 한 줄에 해당하는 글 정보
+@Getter
+public class ArticleExportResponse {
+    private final Long id;
+    private final String title;
+    private final String content;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public ArticleExportResponse(Article article){
+        this.id=article.getId();
+        this.title=article.getTitle();
+        this.content=article.getContent();
+        this.createdAt=article.getCreatedAt();
+        this.updatedAt=article.getUpdatedAt();
+    }
+}
@@ -1,17 +1,16 @@
 package springboot.study.dto;
 
 import lombok.Getter;
-import springboot.study.domain.Article;
 
 @Getter
 public class ArticleListViewResponse {
     private final Long id;
     private final String title;
-    private final String content;
+    private final String excerpt;
 
-    public ArticleListViewResponse(Article article){
-        this.id= article.getId();
-        this.title= article.getTitle();
-        this.content= article.getContent();
+    public ArticleListViewResponse(ArticleSummary summary){
+        this.id= summary.getId();
+        this.title= summary.getTitle();
+        this.excerpt= summary.getExcerpt();
     }
 }
@@ -13,4 +13,9 @@ public class ArticleResponse {
         this.title= article.getTitle();
         this.content= article.getContent();
     }
+
+    public ArticleResponse(ArticleSummary summary){ //목록 조회용: 본문 대신 요약을 담음
+        this.title= summary.getTitle();
+        this.content= summary.getExcerpt();
+    }
 }
@@ -0,0 +1,13 @@
+package springboot.study.dto;
+
+import java.time.LocalDateTime;
+
+//목록 조회용 프로젝션: content 컬럼을 읽지 않고 엔티티도 영속성 컨텍스트에 올리지 않음
+public interface ArticleSummary {
+    Long getId();
+    String getTitle();
+    String getExcerpt();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+    Long getVersion();
+}
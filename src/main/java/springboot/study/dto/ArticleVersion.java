@@ -0,0 +1,33 @@
+package springboot.study.dto;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+//조건부 요청(If-None-Match, If-Modified-Since) 확인용 프로젝션: content를 읽지 않고 버전 정보만 조회
+@Getter
+public class ArticleVersion {
+    private final Long id;
+    private final Long version;
+    private final LocalDateTime updatedAt;
+
+    public ArticleVersion(Long id, Long version, LocalDateTime updatedAt){
+        this.id=id;
+        this.version=version;
+        this.updatedAt=updatedAt;
+    }
+
+    //글 id와 버전으로 만든 강한 ETag
+    public String getETag(){
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    //Last-Modified 헤더 값(epoch 밀리초), 수정 시간이 없으면 -1
+    public long getLastModified(){
+        if(updatedAt==null){
+            return -1;
+        }
+        return updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,8 @@
+package springboot.study.dto;
+
+//조회수 순위 프로젝션
+public interface ArticleViewCount {
+    Long getId();
+    String getTitle();
+    long getViewCount();
+}
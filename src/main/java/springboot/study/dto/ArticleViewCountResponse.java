@@ -0,0 +1,16 @@
+package springboot.study.dto;
+
+import lombok.Getter;
+
+@Getter
+public class ArticleViewCountResponse {
+    private final Long id;
+    private final String title;
+    private final long viewCount;
+
+    public ArticleViewCountResponse(ArticleViewCount viewCount){
+        this.id=viewCount.getId();
+        this.title=viewCount.getTitle();
+        this.viewCount=viewCount.getViewCount();
+    }
+}
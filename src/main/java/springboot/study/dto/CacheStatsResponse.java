@@ -0,0 +1,21 @@
+package springboot.study.dto;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.Getter;
+
+@Getter
+public class CacheStatsResponse {
+    private final long size;
+    private final long hitCount;
+    private final long missCount;
+    private final double hitRate;
+    private final long evictionCount;
+
+    public CacheStatsResponse(CacheStats stats, long size){
+        this.size=size;
+        this.hitCount=stats.hitCount();
+        this.missCount=stats.missCount();
+        this.hitRate=stats.hitRate();
+        this.evictionCount=stats.evictionCount();
+    }
+}
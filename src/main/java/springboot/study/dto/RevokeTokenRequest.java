@@ -0,0 +1,11 @@
+package springboot.study.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class RevokeTokenRequest {
+    private String tokenId; //폐기할 토큰의 jti
+    private Long userId; //지정하면 이 사용자가 지금까지 발급받은 토큰 전부 폐기
+}
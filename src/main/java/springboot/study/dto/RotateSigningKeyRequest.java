@@ -0,0 +1,15 @@
+package springboot.study.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class RotateSigningKeyRequest {
+    private String keyId; //새 키의 kid
+    private String secret; //새 키(base64), jwt.keys에 적는 값과 같은 형식
+}
@@ -0,0 +1,23 @@
+package springboot.study.dto;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+//리프레시 토큰 주인 프로젝션: 액세스 토큰 발급에 필요한 값(id, 이메일, 만료 시각)만 한 번의 조인 쿼리로 조회
+@Getter
+public class TokenOwner {
+    private final Long id;
+    private final String email;
+    private final LocalDateTime expiresAt; //리프레시 토큰 만료 시각
+
+    public TokenOwner(Long id, String email, LocalDateTime expiresAt){
+        this.id=id;
+        this.email=email;
+        this.expiresAt=expiresAt;
+    }
+
+    public boolean isExpired(){
+        return !expiresAt.isAfter(LocalDateTime.now());
+    }
+}
@@ -1,7 +1,37 @@
 package springboot.study.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import springboot.study.domain.Article;
+import springboot.study.dto.ArticleSummary;
+import springboot.study.dto.ArticleVersion;
+import springboot.study.dto.ArticleViewCount;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BlogRepository extends JpaRepository<Article,Long> {
+    //커서 기반 목록 조회: 기본키 인덱스를 타고 내려가므로 OFFSET 없이 limit+1건만 읽음
+    //요약 프로젝션으로 필요한 컬럼만 조회
+    Slice<ArticleSummary> findSummariesByOrderByIdDesc(Pageable pageable); //첫 페이지
+    Slice<ArticleSummary> findSummariesByIdLessThanOrderByIdDesc(Long id, Pageable pageable); //커서 이후 페이지
+
+    List<ArticleSummary> findSummariesByIdIn(Collection<Long> ids); //검색 결과 표시용
+
+    Optional<ArticleVersion> findVersionById(Long id); //조건부 요청 확인용, 버전과 수정 시간만 조회
+
+    List<ArticleViewCount> findViewCountsByOrderByViewCountDesc(Pageable pageable); //조회수 순위(view_count 인덱스 사용)
+
+    //전체 글을 한 번에 올리지 않고 fetch size 단위로 읽어오는 스트림(트랜잭션 안에서 사용하고 반드시 닫아야 함)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") //스냅샷을 만들지 않음
+    })
+    Stream<Article> streamAllByOrderByIdAsc();
 }
@@ -1,11 +1,25 @@
 package springboot.study.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import springboot.study.domain.RefreshToken;
+import springboot.study.dto.TokenOwner;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken,Long> {
     Optional<RefreshToken> findByUserId(Long userId);
-    Optional<RefreshToken> findByRefreshToken(String refreshToken);
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    //토큰 해시로 사용자 id, 이메일을 한 번에 조회(토큰 조회 후 사용자를 다시 조회하지 않음)
+    @Query("select new springboot.study.dto.TokenOwner(u.id, u.email, r.expiresAt) from RefreshToken r join User u on u.id = r.userId where r.tokenHash = :tokenHash")
+    Optional<TokenOwner> findOwnerByTokenHash(@Param("tokenHash") String tokenHash);
+
+    //만료된 토큰 id를 만료 시각 인덱스로 정해진 개수만 조회(한 번에 지우는 양을 제한)
+    @Query("select r.id from RefreshToken r where r.expiresAt < :now order by r.expiresAt")
+    List<Long> findExpiredIds(@Param("now") LocalDateTime now, Pageable pageable);
 }
@@ -1,10 +1,24 @@
 package springboot.study.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import springboot.study.domain.User;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User,Long> {
     Optional<User> findByEmail(String email); //이메일로 사용자 정보를 가져옴
-}
\ No newline at end of file
+
+    //이메일로 이름만 조회(엔티티를 만들지 않음), 유저가 없거나 이름이 없으면 empty
+    @Query("select u.nickname from User u where u.email = :email")
+    Optional<String> findNicknameByEmail(@Param("email") String email);
+
+    //이메일로 이름만 변경(엔티티를 읽지 않고 update 한 문장), 변경된 행 수 반환(유저가 없으면 0)
+    @Transactional
+    @Modifying
+    @Query("update User u set u.nickname = :nickname where u.email = :email")
+    int updateNicknameByEmail(@Param("email") String email, @Param("nickname") String nickname);
+}
@@ -0,0 +1,73 @@
+package springboot.study.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.stereotype.Component;
+import springboot.study.config.BlogProperties;
+import springboot.study.domain.Article;
+import springboot.study.util.SingleFlight;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+//글 단건 조회 앞에 두는 메모리 캐시(크기, TTL 기준으로 제거)
+@Component
+public class ArticleCache {
+
+    private final Cache<Long, Article> cache;
+    private final SingleFlight<Long, Article> loads; //같은 id의 동시 미스는 조회 한 번으로 합침
+    private final AtomicLong invalidations=new AtomicLong(); //조회 도중 무효화가 있었는지 확인하는 용도
+
+    public ArticleCache(BlogProperties blogProperties){
+        BlogProperties.CacheSpec spec=blogProperties.getArticleCache();
+        this.cache=Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfterWrite(spec.getExpireAfterWrite())
+                .recordStats() //히트, 미스, 제거 통계 수집
+                .build();
+        this.loads=new SingleFlight<>(spec.getLoadTimeout());
+    }
+
+    //캐시에 있으면 반환, 없으면 loader로 읽어와서 저장(예외가 나면 저장하지 않음)
+    public Article get(long id, Function<Long, Article> loader){
+        Article cached=cache.getIfPresent(id);
+        if(cached!=null){
+            return cached;
+        }
+
+        return loads.load(id, ()->{
+            long seen=invalidations.get();
+            Article article=loader.apply(id);
+            if(invalidations.get()==seen){ //읽는 도중 수정/삭제가 있었으면 이전 값일 수 있으므로 저장하지 않음
+                cache.put(id, article);
+                if(invalidations.get()!=seen){
+                    cache.invalidate(id);
+                }
+            }
+            return article;
+        });
+    }
+
+    //캐시에 있을 때만 반환(없으면 null), 조회를 일으키지 않음
+    public Article getIfPresent(long id){
+        return cache.getIfPresent(id);
+    }
+
+    public void put(Article article){
+        cache.put(article.getId(), article);
+    }
+
+    public void evict(long id){
+        invalidations.incrementAndGet();
+        cache.invalidate(id);
+    }
+
+    public CacheStats stats(){
+        return cache.stats();
+    }
+
+    public long size(){
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,71 @@
+package springboot.study.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+import springboot.study.config.BlogProperties;
+import springboot.study.domain.Article;
+import springboot.study.dto.ArticleListViewResponse;
+import springboot.study.dto.ArticleSummary;
+import springboot.study.dto.ArticleViewResponse;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+//글마다 렌더링한 HTML 조각(목록 카드, 상세 본문)을 글 id + 버전 기준으로 캐시
+//버전이 다르면 다시 렌더링하고, 수정/삭제 시에는 BlogService가 바로 지움
+@Component
+public class ArticleFragmentCache {
+
+    private static final String TEMPLATE = "fragments/article";
+
+    private final ITemplateEngine templateEngine;
+    private final Cache<Long, RenderedFragment> cards;
+    private final Cache<Long, RenderedFragment> bodies;
+
+    public ArticleFragmentCache(ITemplateEngine templateEngine, BlogProperties blogProperties){
+        this.templateEngine=templateEngine;
+        this.cards=newCache(blogProperties.getFragmentCache());
+        this.bodies=newCache(blogProperties.getFragmentCache());
+    }
+
+    //목록 화면의 카드 조각
+    public String card(ArticleSummary summary){
+        return render(cards, summary.getId(), summary.getVersion(), "card", new ArticleListViewResponse(summary));
+    }
+
+    //상세 화면의 본문 조각
+    public String body(Article article){
+        return render(bodies, article.getId(), article.getVersion(), "body", new ArticleViewResponse(article));
+    }
+
+    public void evict(long id){
+        cards.invalidate(id);
+        bodies.invalidate(id);
+    }
+
+    private String render(Cache<Long, RenderedFragment> cache, Long id, Long version, String fragment, Object article){
+        RenderedFragment cached=cache.getIfPresent(id);
+        if(cached!=null && Objects.equals(cached.version(), version)){
+            return cached.html();
+        }
+
+        String html=templateEngine.process(TEMPLATE, Set.of(fragment), new Context(Locale.getDefault(), Map.of("article", article)));
+        cache.put(id, new RenderedFragment(version, html));
+        return html;
+    }
+
+    private static Cache<Long, RenderedFragment> newCache(BlogProperties.CacheSpec spec){
+        return Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfterWrite(spec.getExpireAfterWrite())
+                .build();
+    }
+
+    private record RenderedFragment(Long version, String html){
+    }
+}
@@ -0,0 +1,204 @@
+package springboot.study.service;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import springboot.study.domain.Article;
+import springboot.study.repository.BlogRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+//글 제목, 내용에 대한 메모리 역색인
+//영어, 숫자는 단어 단위로, 한글은 조사가 붙어도 찾을 수 있도록 두 글자씩(bigram) 잘라서 색인함
+//한글은 한 글자 검색어("글")로도 찾을 수 있도록 글자 하나씩도 함께 색인함
+@Component
+public class ArticleSearchIndex implements SmartInitializingSingleton {
+
+    private static final int TITLE_WEIGHT = 3; //제목에 나온 단어는 내용보다 높은 점수
+
+    private final BlogRepository blogRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Map<String, Map<Long, Integer>> postings=new ConcurrentHashMap<>(); //단어 -> (글 id -> 단어 빈도 점수)
+    private final Map<Long, IndexedArticle> termsByArticle=new ConcurrentHashMap<>(); //글 id -> 색인한 버전, 단어 목록(수정, 삭제 시 정리용)
+
+    public ArticleSearchIndex(BlogRepository blogRepository, EntityManager entityManager, PlatformTransactionManager transactionManager){
+        this.blogRepository=blogRepository;
+        this.entityManager=entityManager;
+        this.readOnlyTransaction=new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    //모든 빈이 만들어진 직후, 웹 서버가 요청을 받기 전에 색인을 만듦
+    //(요청을 받은 뒤에 만들면 그 사이의 글 수정이 이전 내용으로 다시 색인될 수 있음)
+    @Override
+    public void afterSingletonsInstantiated(){
+        rebuild();
+    }
+
+    //전체 글을 스트림으로 읽어서 색인
+    public void rebuild(){
+        readOnlyTransaction.executeWithoutResult(status->{
+            try(Stream<Article> articles=blogRepository.streamAllByOrderByIdAsc()){
+                articles.forEach(article->{
+                    index(article);
+                    entityManager.detach(article);
+                });
+            }
+        });
+    }
+
+    public void index(Article article){
+        index(article.getId(), article.getVersion(), article.getTitle(), article.getContent());
+    }
+
+    //version보다 새 버전이 이미 색인되어 있으면 무시
+    //(같은 글을 동시에 수정하면 커밋 후 색인 작업의 실행 순서가 커밋 순서와 다를 수 있음)
+    void index(long id, long version, String title, String content){
+        Map<String, Integer> weights=new HashMap<>();
+        tokenize(title, true).forEach(term->weights.merge(term, TITLE_WEIGHT, Integer::sum));
+        tokenize(content, true).forEach(term->weights.merge(term, 1, Integer::sum));
+
+        //같은 글의 색인, 삭제는 termsByArticle의 id 잠금 안에서 하나씩 실행(동시 수정 시 이전 단어가 남지 않도록)
+        termsByArticle.compute(id, (key, previous)->{
+            if(previous!=null && previous.version()>version){
+                return previous;
+            }
+            if(previous!=null){ //수정된 글이면 더 이상 없는 단어를 지움
+                previous.terms().stream()
+                        .filter(term->!weights.containsKey(term))
+                        .forEach(term->removePosting(term, id));
+            }
+            weights.forEach((term, weight)->postings.compute(term, (t, ids)->{
+                Map<Long, Integer> articleIds=ids==null ? new ConcurrentHashMap<>() : ids;
+                articleIds.put(id, weight);
+                return articleIds;
+            }));
+            return new IndexedArticle(version, weights.keySet());
+        });
+    }
+
+    public void remove(long id){
+        termsByArticle.computeIfPresent(id, (key, indexed)->{
+            indexed.terms().forEach(term->removePosting(term, id));
+            return null;
+        });
+    }
+
+    private void removePosting(String term, long id){
+        postings.computeIfPresent(term, (key, ids)->{
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids; //빈 단어는 색인에서 제거
+        });
+    }
+
+    //검색어의 모든 단어를 포함하는 글을 점수(단어 빈도 합) 높은 순으로 최대 limit개 반환
+    public List<Long> search(String query, int limit){
+        List<Map<Long, Integer>> matched=new ArrayList<>();
+        for(String term: new LinkedHashSet<>(tokenize(query))){
+            Map<Long, Integer> ids=postings.get(term);
+            if(ids==null){ //없는 단어가 하나라도 있으면 결과 없음
+                return List.of();
+            }
+            matched.add(ids);
+        }
+        if(matched.isEmpty() || limit<=0){
+            return List.of();
+        }
+
+        //가장 짧은 목록을 기준으로 나머지 목록에 모두 있는 글만 점수를 계산
+        matched.sort(Comparator.comparingInt(Map::size));
+        PriorityQueue<long[]> top=new PriorityQueue<>(Comparator.comparingLong((long[] hit)->hit[1])); //{id, 점수}, 점수가 낮은 것이 맨 앞
+        for(Map.Entry<Long, Integer> candidate: matched.get(0).entrySet()){
+            long score=candidate.getValue();
+            for(int i=1;i<matched.size() && score>0;i++){
+                Integer weight=matched.get(i).get(candidate.getKey());
+                score=weight==null ? 0 : score+weight;
+            }
+            if(score==0){
+                continue;
+            }
+            if(top.size()<limit){
+                top.add(new long[]{candidate.getKey(), score});
+            } else if(top.peek()[1]<score){
+                top.poll();
+                top.add(new long[]{candidate.getKey(), score});
+            }
+        }
+
+        List<Long> ids=new ArrayList<>(top.size());
+        while(!top.isEmpty()){
+            ids.add(0, top.poll()[0]);
+        }
+        return ids;
+    }
+
+    //검색어용: 두 글자 이상인 한글 단어는 bigram으로만 자름
+    static List<String> tokenize(String text){
+        return tokenize(text, false);
+    }
+
+    //색인용은 withUnigrams=true로 두 글자 이상인 한글 단어의 글자 하나씩도 함께 반환
+    static List<String> tokenize(String text, boolean withUnigrams){
+        List<String> tokens=new ArrayList<>();
+        if(text==null){
+            return tokens;
+        }
+
+        String lower=text.toLowerCase(Locale.ROOT);
+        int i=0;
+        while(i<lower.length()){
+            char c=lower.charAt(i);
+            int start=i;
+            if(isHangul(c)){
+                while(i<lower.length() && isHangul(lower.charAt(i))){
+                    i++;
+                }
+                addBigrams(lower, start, i, tokens);
+                if(withUnigrams && i-start>1){
+                    for(int j=start;j<i;j++){
+                        tokens.add(lower.substring(j, j+1));
+                    }
+                }
+            } else if(Character.isLetterOrDigit(c)){
+                while(i<lower.length() && Character.isLetterOrDigit(lower.charAt(i)) && !isHangul(lower.charAt(i))){
+                    i++;
+                }
+                tokens.add(lower.substring(start, i));
+            } else {
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addBigrams(String text, int start, int end, List<String> tokens){
+        if(end-start==1){ //한 글자 단어는 그대로 색인
+            tokens.add(text.substring(start, end));
+            return;
+        }
+        for(int i=start;i<end-1;i++){
+            tokens.add(text.substring(i, i+2));
+        }
+    }
+
+    private static boolean isHangul(char c){
+        return Character.UnicodeScript.of(c)==Character.UnicodeScript.HANGUL;
+    }
+
+    private record IndexedArticle(long version, Set<String> terms){
+    }
+}
@@ -0,0 +1,89 @@
+package springboot.study.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import springboot.study.config.BlogProperties;
+import springboot.study.dto.ArticleViewCountResponse;
+import springboot.study.repository.BlogRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+//글 조회수를 메모리에 모았다가 주기적으로 한 번에 UPDATE(write-behind)
+//조회할 때마다 행 잠금이 걸리는 UPDATE를 하지 않기 위함, 비정상 종료 시 마지막 반영 이후의 조회수(최대 flush-interval)만큼 유실될 수 있음
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ArticleViewCounter {
+
+    private static final String UPDATE_SQL = "UPDATE article SET view_count = view_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlogRepository blogRepository;
+    private final BlogProperties blogProperties;
+
+    //글 id -> 마지막 반영 이후 조회수, 카운터는 글이 삭제될 때까지 지우지 않음(최대 글 수만큼)
+    //반영할 때 지우면 카운터를 꺼낸 뒤 더하기 전인 조회가 지워진 카운터에 더해져 사라질 수 있음
+    private final ConcurrentHashMap<Long, LongAdder> pending=new ConcurrentHashMap<>();
+    private volatile List<ArticleViewCountResponse> mostViewed=List.of(); //마지막 반영 시점의 많이 본 글
+
+    public void increment(long id){
+        add(id, 1);
+    }
+
+    //잠금 없이 더함(인기 글에 조회가 몰려도 LongAdder가 스레드별로 나눠서 셈), 처음 보는 글만 computeIfAbsent
+    private void add(long id, long delta){
+        LongAdder counter=pending.get(id);
+        if(counter==null){
+            counter=pending.computeIfAbsent(id, key->new LongAdder());
+        }
+        counter.add(delta);
+    }
+
+    public void remove(long id){
+        pending.remove(id);
+    }
+
+    public List<ArticleViewCountResponse> getMostViewed(){
+        return mostViewed;
+    }
+
+    @Scheduled(fixedDelayString = "${blog.view-count.flush-interval:PT5S}")
+    public void flush(){
+        List<Object[]> updates=new ArrayList<>();
+        pending.forEach((id, counter)->{
+            long delta=counter.sumThenReset(); //읽는 도중 들어온 조회는 다음 반영에 포함됨
+            if(delta>0){
+                updates.add(new Object[]{delta, id});
+            }
+        });
+
+        if(!updates.isEmpty()){
+            try {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, updates); //JDBC 배치 하나로 반영
+            } catch (DataAccessException e) {
+                log.warn("failed to flush view counts, will retry: {}", e.getMessage());
+                updates.forEach(update->add((Long) update[1], (Long) update[0]));
+                return;
+            }
+        }
+
+        mostViewed=blogRepository.findViewCountsByOrderByViewCountDesc(PageRequest.of(0, blogProperties.getViewCount().getMostViewedSize()))
+                .stream()
+                .map(ArticleViewCountResponse::new)
+                .toList();
+    }
+
+    @PreDestroy //정상 종료 시에는 남은 조회수를 반영
+    public void flushOnShutdown(){
+        flush();
+    }
+}
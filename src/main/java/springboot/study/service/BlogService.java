@@ -1,36 +1,170 @@
 package springboot.study.service;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
 import springboot.study.domain.Article;
 import springboot.study.dto.AddArticleRequest;
+import springboot.study.dto.ArticleSummary;
+import springboot.study.dto.ArticleVersion;
+import springboot.study.dto.ArticleViewCountResponse;
+import springboot.study.dto.CacheStatsResponse;
 import springboot.study.dto.UpdateArticleRequest;
 import springboot.study.repository.BlogRepository;
+import springboot.study.util.CursorUtil;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+@Timed(value = "blog.service", histogram = true) //메소드별 실행 시간(class, method 태그)
 @RequiredArgsConstructor
 @Service
 public class BlogService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_BATCH_SIZE = 1000; //한 번에 등록할 수 있는 최대 글 수
+    private static final int FLUSH_SIZE = 50; //hibernate.jdbc.batch_size와 맞춤
+
     private final BlogRepository blogRepository;
+    private final ArticleCache articleCache;
+    private final ArticleSearchIndex articleSearchIndex;
+    private final ArticleFragmentCache articleFragmentCache;
+    private final ArticleViewCounter articleViewCounter;
+    private final EntityManager entityManager;
 
     public Article save(AddArticleRequest request){
-        return blogRepository.save(request.toEntity());
+        Article savedArticle=blogRepository.save(request.toEntity());
+        articleCache.put(savedArticle); //방금 저장한 글은 바로 조회될 가능성이 높음
+        articleSearchIndex.index(savedArticle);
+        return savedArticle;
+    }
+
+    //여러 글을 한 트랜잭션에서 등록, FLUSH_SIZE마다 insert를 JDBC 배치로 보내고 영속성 컨텍스트를 비움
+    @Transactional
+    public List<Long> saveAll(List<AddArticleRequest> requests){
+        if(requests.size()>MAX_BATCH_SIZE){
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "too many articles: " + requests.size());
+        }
+
+        List<Article> savedArticles=new ArrayList<>(requests.size());
+        for(int i=0;i<requests.size();i++){
+            savedArticles.add(blogRepository.save(requests.get(i).toEntity())); //id는 시퀀스에서 미리 받아둔 값이라 insert 전에 정해짐
+            if((i+1)%FLUSH_SIZE==0){
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        afterCommit(()->savedArticles.forEach(articleSearchIndex::index));
+
+        return savedArticles.stream()
+                .map(Article::getId)
+                .toList();
     }
 
     public List<Article> findAll(){
         return blogRepository.findAll();
     }
 
+    //전체 글을 id 순서로 하나씩 action에 넘김, 처리한 엔티티는 바로 분리해서 글 수와 상관없이 메모리 사용량 유지
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<Article> action){
+        try(Stream<Article> articles=blogRepository.streamAllByOrderByIdAsc()){
+            articles.forEach(article->{
+                action.accept(article);
+                entityManager.detach(article);
+            });
+        }
+    }
+
+    //커서 이후의 글 요약을 최신순으로 size개 조회(cursor가 없으면 첫 페이지)
+    @Transactional(readOnly = true) //프로젝션만 읽으므로 더티 체킹 불필요
+    public Slice<ArticleSummary> findPage(String cursor, int size){
+        PageRequest limit=PageRequest.of(0, Math.max(1, Math.min(size, MAX_PAGE_SIZE))); //항상 0페이지라 OFFSET이 붙지 않음
+
+        if(cursor==null || cursor.isBlank()){
+            return blogRepository.findSummariesByOrderByIdDesc(limit);
+        }
+        return blogRepository.findSummariesByIdLessThanOrderByIdDesc(CursorUtil.decode(cursor), limit);
+    }
+
+    //다음 페이지를 가리키는 커서 반환, 마지막 페이지면 null
+    public String nextCursor(Slice<ArticleSummary> page){
+        if(!page.hasNext()){
+            return null;
+        }
+        List<ArticleSummary> content=page.getContent();
+        return CursorUtil.encode(content.get(content.size()-1).getId());
+    }
+
     public Article findById(long id){
-        return blogRepository.findById(id)
+        return articleCache.get(id, key->blogRepository.findById(key)
+                .orElseThrow(()->new IllegalArgumentException("not found: " + key)));
+    }
+
+    //ETag, Last-Modified 계산용 버전 정보 조회(캐시에 있으면 DB를 거치지 않음)
+    public ArticleVersion findVersion(long id){
+        Article cached=articleCache.getIfPresent(id);
+        if(cached!=null){
+            return new ArticleVersion(cached.getId(), cached.getVersion(), cached.getUpdatedAt());
+        }
+        return blogRepository.findVersionById(id)
                 .orElseThrow(()->new IllegalArgumentException("not found: " + id));
     }
 
+    public CacheStatsResponse getCacheStats(){
+        return new CacheStatsResponse(articleCache.stats(), articleCache.size());
+    }
+
+    @Transactional
     public void delete(long id){
         blogRepository.deleteById(id);
+        afterCommit(()->{
+            articleCache.evict(id); //무효화 횟수도 올려서 삭제 전에 시작한 조회가 지운 글을 다시 캐시하지 못하게 함
+            articleSearchIndex.remove(id);
+            articleFragmentCache.evict(id);
+            articleViewCounter.remove(id);
+        });
+    }
+
+    //조회수 1 증가(메모리에만 반영, 주기적으로 DB에 반영됨)
+    public void increaseViewCount(long id){
+        articleViewCounter.increment(id);
+    }
+
+    //많이 본 글 목록(DB를 거치지 않고 마지막 반영 시점의 값 반환)
+    public List<ArticleViewCountResponse> findMostViewed(){
+        return articleViewCounter.getMostViewed();
+    }
+
+    //제목, 내용에 검색어가 모두 들어간 글을 점수 순으로 최대 size개 조회
+    @Transactional(readOnly = true)
+    public List<ArticleSummary> search(String query, int size){
+        List<Long> ids=articleSearchIndex.search(query, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+        if(ids.isEmpty()){
+            return List.of();
+        }
+
+        Map<Long, ArticleSummary> summaries=blogRepository.findSummariesByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(ArticleSummary::getId, Function.identity()));
+        return ids.stream() //색인의 점수 순서 유지
+                .map(summaries::get)
+                .filter(summary->summary!=null)
+                .toList();
     }
 
     @Transactional //데이터를 바꾸기 위한 작업
@@ -39,7 +173,26 @@ public class BlogService {
                 .orElseThrow(()->new IllegalArgumentException("not found: "+id));
 
         article.update(request.getTitle(),request.getContent());
+        afterCommit(()->{
+            articleCache.evict(id); //커밋 전에 지우면 다른 요청이 이전 값을 다시 캐시할 수 있음
+            articleSearchIndex.index(article);
+            articleFragmentCache.evict(id);
+        });
 
         return article;
     }
+
+    //트랜잭션 안이면 커밋 후에, 아니면 바로 실행
+    private void afterCommit(Runnable action){
+        if(!TransactionSynchronizationManager.isSynchronizationActive()){
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit(){
+                action.run();
+            }
+        });
+    }
 }
@@ -1,19 +1,130 @@
 package springboot.study.service;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import springboot.study.config.BlogProperties;
+import springboot.study.config.jwt.TokenProvider;
 import springboot.study.domain.RefreshToken;
+import springboot.study.dto.TokenOwner;
 import springboot.study.repository.RefreshTokenRepository;
+import springboot.study.util.DigestUtil;
+import springboot.study.util.SingleFlight;
 
-@RequiredArgsConstructor
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+@Slf4j
 @Service
 public class RefreshTokenService {
 
     private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenProvider tokenProvider;
+    private final BlogProperties.Purge purge;
+    private final Cache<String, TokenOwner> owners; //토큰 해시 -> 토큰 주인
+    private final SingleFlight<String, TokenOwner> loads; //같은 토큰의 동시 미스는 조회 한 번으로 합침
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, TokenProvider tokenProvider, BlogProperties blogProperties){
+        this.refreshTokenRepository=refreshTokenRepository;
+        this.tokenProvider=tokenProvider;
+        this.purge=blogProperties.getRefreshTokenPurge();
+        BlogProperties.CacheSpec spec=blogProperties.getRefreshTokenCache();
+        this.owners=Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfterWrite(spec.getExpireAfterWrite())
+                .build();
+        this.loads=new SingleFlight<>(spec.getLoadTimeout());
+    }
+
+    //리프레시 토큰 주인(id, 이메일, 만료 시각)을 찾는 메소드, 캐시에 없으면 토큰과 사용자를 조인해서 한 번에 조회
+    public TokenOwner findOwnerByRefreshToken(String refreshToken){
+        String tokenHash=DigestUtil.sha256(refreshToken);
+        TokenOwner owner=owners.getIfPresent(tokenHash);
+        if(owner!=null){
+            return owner;
+        }
+
+        return loads.load(tokenHash, ()->{
+            TokenOwner loaded=refreshTokenRepository.findOwnerByTokenHash(tokenHash)
+                    .orElseThrow(()->new IllegalArgumentException("Unexpected token"));
+            owners.put(tokenHash, loaded);
+            return loaded;
+        });
+    }
+
+    //사용자의 리프레시 토큰 저장(있으면 교체), 이전 토큰은 커밋 후 캐시에서도 제거
+    //만료 시각은 토큰의 exp를 그대로 저장해서 정리 작업과 토큰 검증의 만료 기준을 맞춤
+    @Transactional
+    public RefreshToken save(Long userId, String refreshToken){
+        LocalDateTime expiresAt=expiresAt(refreshToken);
+        return refreshTokenRepository.findByUserId(userId)
+                .map(entity->{
+                    String oldHash=entity.getTokenHash();
+                    afterCommit(()->owners.invalidate(oldHash));
+                    return entity.update(refreshToken, expiresAt);
+                })
+                .orElseGet(()->refreshTokenRepository.save(new RefreshToken(userId, refreshToken, expiresAt)));
+    }
+
+    private LocalDateTime expiresAt(String refreshToken){
+        Date expiration=tokenProvider.getExpiration(refreshToken);
+        if(expiration==null){
+            throw new IllegalArgumentException("refresh token must expire");
+        }
+        return LocalDateTime.ofInstant(expiration.toInstant(), ZoneId.systemDefault()); //정리 작업의 LocalDateTime.now()와 같은 시간대
+    }
+
+    //사용자의 리프레시 토큰 삭제(로그아웃), 커밋 후 캐시에서도 제거
+    @Transactional
+    public void deleteByUserId(Long userId){
+        refreshTokenRepository.findByUserId(userId)
+                .ifPresent(entity->{
+                    afterCommit(()->owners.invalidate(entity.getTokenHash()));
+                    refreshTokenRepository.delete(entity);
+                });
+    }
+
+    //만료된 리프레시 토큰 삭제, 만료 시각 인덱스로 chunkSize개씩 골라 청크마다 별도 트랜잭션으로 지움
+    //(한 번에 지우면 긴 트랜잭션이 잠금을 오래 잡아 토큰 재발급이 막힘)
+    @Scheduled(fixedDelayString = "${blog.refresh-token-purge.interval:PT1H}")
+    public int purgeExpired(){
+        LocalDateTime now=LocalDateTime.now();
+        PageRequest chunk=PageRequest.of(0, purge.getChunkSize());
+        int deleted=0;
+        List<Long> ids;
+        do {
+            ids=refreshTokenRepository.findExpiredIds(now, chunk);
+            if(!ids.isEmpty()){
+                refreshTokenRepository.deleteAllByIdInBatch(ids);
+                deleted+=ids.size();
+            }
+        } while(ids.size()==purge.getChunkSize());
+
+        if(deleted>0){
+            log.info("purged {} expired refresh tokens", deleted); //캐시에 남은 항목은 만료 시각 확인으로 거절됨
+        }
+        return deleted;
+    }
 
-    //리프레시 토큰 객체를 검색해서 전달하는 메소드
-    public RefreshToken findByRefreshToken(String refreshToken){
-        return refreshTokenRepository.findByRefreshToken(refreshToken)
-                .orElseThrow(()->new IllegalArgumentException("Unexpected token"));
+    //트랜잭션 안이면 커밋 후에, 아니면 바로 실행
+    private void afterCommit(Runnable action){
+        if(!TransactionSynchronizationManager.isSynchronizationActive()){
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit(){
+                action.run();
+            }
+        });
     }
 }
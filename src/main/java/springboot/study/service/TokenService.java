@@ -1,9 +1,14 @@
 package springboot.study.service;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import springboot.study.config.jwt.RevokedTokens;
 import springboot.study.config.jwt.TokenProvider;
-import springboot.study.domain.User;
+import springboot.study.dto.RevokeTokenRequest;
+import springboot.study.dto.RotateSigningKeyRequest;
+import springboot.study.dto.TokenOwner;
 
 import java.time.Duration;
 
@@ -13,19 +18,60 @@ public class TokenService {
 
     private final TokenProvider tokenProvider;
     private final RefreshTokenService refreshTokenService;
-    private final UserService userService;
+    private final RevokedTokens revokedTokens;
 
+    @Timed(value = "token.refresh", histogram = true)
     public String createNewAccessToken(String refreshToken){
-        //토큰 유효성 검사 실패하면 예외 발생
+        //토큰 유효성 검사 실패하면 예외 발생(서명, 만료 확인은 검증 결과가 캐시되어 가벼움)
+        //위조되거나 만료된 토큰은 DB 조회, 캐시 저장 없이 거절
         if(!tokenProvider.validToken(refreshToken)){
             throw new IllegalArgumentException("Unexpected token");
         }
 
-        //리프레시 토큰으로 id를 찾고, id로 사용자를 찾음
-        Long userId=refreshTokenService.findByRefreshToken(refreshToken).getUserId();
-        User user=userService.findById(userId);
+        //리프레시 토큰으로 사용자 id, 이메일, 만료 시각을 한 번에 찾음(사용자 엔티티는 조회하지 않음, 보통 캐시에서 반환)
+        TokenOwner owner=refreshTokenService.findOwnerByRefreshToken(refreshToken);
+        if(owner.isExpired()){ //저장된 만료 시각은 토큰의 exp와 같으므로 보통 위에서 걸러짐
+            throw new IllegalArgumentException("Expired token");
+        }
 
         //새로운 액세스 토큰 생성
-        return tokenProvider.generateToken(user, Duration.ofHours(2));
+        return tokenProvider.generateToken(owner.getId(), owner.getEmail(), Duration.ofHours(2));
+    }
+
+    //로그아웃: 액세스 토큰을 폐기하고 리프레시 토큰을 삭제해서 새 토큰도 발급받지 못하게 함
+    public void logout(String accessToken){
+        Claims claims=tokenProvider.revoke(accessToken);
+        Long userId=claims.get("id", Long.class);
+        if(userId!=null){
+            refreshTokenService.deleteByUserId(userId);
+        }
+    }
+
+    //관리자 서명 키 교체(재시작 없이), 이전 키로 발급된 토큰은 retireSigningKey 전까지 유효
+    //이 서버에만 반영되므로 서버가 여러 대면 모두 호출하고, 재시작 후에도 유지하려면 jwt.keys, jwt.signing-key-id에도 적어둠
+    public void rotateSigningKey(RotateSigningKeyRequest request){
+        if(request.getKeyId()==null || request.getKeyId().isBlank() || request.getSecret()==null || request.getSecret().isBlank()){
+            throw new IllegalArgumentException("keyId and secret are required");
+        }
+        tokenProvider.rotateKey(request.getKeyId(), request.getSecret());
+    }
+
+    //관리자 검증 키 제거, 이 키로 서명된 토큰은 바로 거부됨(현재 서명 키는 제거할 수 없음)
+    public void retireSigningKey(String keyId){
+        tokenProvider.retireKey(keyId);
+    }
+
+    //관리자 폐기: jti로 토큰 하나, 또는 사용자의 토큰 전부
+    public void revoke(RevokeTokenRequest request){
+        if(request.getTokenId()==null && request.getUserId()==null){
+            throw new IllegalArgumentException("tokenId or userId is required");
+        }
+        if(request.getTokenId()!=null){
+            revokedTokens.revoke(request.getTokenId(), null); //만료 시각을 모르므로 보관 기간만큼 유지
+        }
+        if(request.getUserId()!=null){
+            revokedTokens.revokeUser(request.getUserId());
+            refreshTokenService.deleteByUserId(request.getUserId());
+        }
     }
 }
@@ -1,9 +1,9 @@
 package springboot.study.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
-import springboot.study.domain.User;
 import springboot.study.repository.UserRepository;
 
 @RequiredArgsConstructor
@@ -12,10 +12,11 @@ import springboot.study.repository.UserRepository;
 public class UserDetailService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
 
     @Override
-    public User loadUserByUsername(String email){ //사용자 이름(이메일)으로 사용자 정보를 가져옴
-        return userRepository.findByEmail(email)
-                .orElseThrow(()->new IllegalArgumentException((email)));
+    public UserDetails loadUserByUsername(String email){ //사용자 이름(이메일)으로 사용자 정보를 가져옴, 캐시에 없을 때만 DB 조회
+        return userDetailsCache.get(email, ()->userRepository.findByEmail(email)
+                .orElseThrow(()->new IllegalArgumentException((email))));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,86 @@
+package springboot.study.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import springboot.study.config.BlogProperties;
+import springboot.study.domain.User;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+//폼 로그인용 사용자 정보 캐시(키: 이메일)
+//JPA 엔티티 대신 값만 복사한 불변 스냅샷을 저장하고, 꺼낼 때마다 새 UserDetails를 만들어 줌
+//(인증이 끝나면 시큐리티가 UserDetails의 비밀번호를 지우므로 캐시한 객체를 그대로 내주면 안 됨)
+//사용자를 저장하는 서비스(UserService, OAuth2UserCustomService)가 저장 후 제거
+@Component
+public class UserDetailsCache {
+
+    private final Cache<String, Snapshot> cache;
+    private final AtomicLong invalidations=new AtomicLong(); //조회 도중 무효화가 있었는지 확인하는 용도
+
+    public UserDetailsCache(BlogProperties blogProperties){
+        BlogProperties.CacheSpec spec=blogProperties.getUserDetailsCache();
+        this.cache=Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfterWrite(spec.getExpireAfterWrite())
+                .build();
+    }
+
+    //캐시에 있으면 반환, 없으면 loader로 읽어와서 저장(예외가 나면 저장하지 않음)
+    //DB 조회는 캐시 내부 잠금 밖에서 실행(가상 스레드가 잠금을 잡은 채 I/O를 기다리면 캐리어 스레드에 고정됨)
+    public UserDetails get(String email, Supplier<User> loader){
+        Snapshot snapshot=cache.getIfPresent(email);
+        if(snapshot!=null){
+            return snapshot.toUserDetails();
+        }
+
+        long seen=invalidations.get();
+        snapshot=Snapshot.of(loader.get());
+        if(invalidations.get()==seen){ //읽는 도중 비밀번호 변경, 삭제가 있었으면 이전 값일 수 있으므로 저장하지 않음
+            cache.put(email, snapshot);
+            if(invalidations.get()!=seen){
+                cache.invalidate(email);
+            }
+        }
+        return snapshot.toUserDetails();
+    }
+
+    public void evict(String email){
+        invalidations.incrementAndGet();
+        cache.invalidate(email);
+    }
+
+    //트랜잭션 안이면 커밋 후에 제거(커밋 전에 다른 요청이 이전 값을 다시 캐시하지 않도록), 아니면 바로 제거
+    public void evictAfterCommit(String email){
+        if(!TransactionSynchronizationManager.isSynchronizationActive()){
+            evict(email);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit(){
+                evict(email);
+            }
+        });
+    }
+
+    private record Snapshot(String email, String password, List<String> authorities){
+        static Snapshot of(User user){
+            return new Snapshot(user.getEmail(), user.getPassword(),
+                    user.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        }
+
+        UserDetails toUserDetails(){
+            return org.springframework.security.core.userdetails.User.withUsername(email)
+                    .password(password==null ? "" : password) //OAuth2로만 가입한 유저는 비밀번호가 없어 폼 로그인 불가
+                    .authorities(authorities.toArray(String[]::new))
+                    .build();
+        }
+    }
+}
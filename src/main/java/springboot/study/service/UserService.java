@@ -1,7 +1,8 @@
 package springboot.study.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import springboot.study.domain.User;
 import springboot.study.dto.AddUserRequest;
@@ -12,13 +13,17 @@ import springboot.study.repository.UserRepository;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final UserDetailsCache userDetailsCache;
+    private final PasswordEncoder passwordEncoder; //전용 스레드 풀에서 BCrypt 해시(PasswordEncoderConfig)
 
+    @Timed(value = "user.signup", histogram = true) //BCrypt 해시 시간은 password.hashing 메트릭으로 따로 기록
     public Long save(AddUserRequest dto){
-        return userRepository.save(User.builder()
+        Long id=userRepository.save(User.builder()
                 .email(dto.getEmail())
-                .password(bCryptPasswordEncoder.encode(dto.getPassword()))
+                .password(passwordEncoder.encode(dto.getPassword()))
                 .build()).getId();
+        userDetailsCache.evict(dto.getEmail()); //같은 이메일로 캐시된 이전 정보가 있으면 제거
+        return id;
     }
 
     public User findById(Long userId){
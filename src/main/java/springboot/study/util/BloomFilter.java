@@ -0,0 +1,71 @@
+package springboot.study.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+//"없다"는 확실하고 "있다"는 오탐이 있을 수 있는 집합, 메모리 한 번 읽기 수준으로 확인
+//확인은 잠금 없이, 추가는 여러 스레드에서 동시에 해도 됨(비트는 켜기만 하고 지우지 않음)
+public class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    //expectedInsertions개를 넣었을 때 오탐률이 falsePositiveRate가 되도록 크기를 정함
+    public BloomFilter(long expectedInsertions, double falsePositiveRate){
+        long n=Math.max(1, expectedInsertions);
+        long m=(long) Math.ceil(-n*Math.log(falsePositiveRate)/(LN2*LN2));
+        this.bits=new AtomicLongArray(Math.toIntExact(Math.max(1, (m+63)/64)));
+        this.bitCount=bits.length()*64L;
+        this.hashCount=Math.max(1, (int) Math.round((double) bitCount/n*LN2));
+    }
+
+    public void put(String value){
+        long hash1=hash(value);
+        long hash2=mix(hash1);
+        for(int i=0; i<hashCount; i++){
+            long bit=index(hash1+i*hash2);
+            int word=(int) (bit>>>6);
+            long mask=1L<<bit;
+            long current=bits.get(word);
+            while((current&mask)==0 && !bits.compareAndSet(word, current, current|mask)){
+                current=bits.get(word);
+            }
+        }
+    }
+
+    public boolean mightContain(String value){
+        long hash1=hash(value);
+        long hash2=mix(hash1);
+        for(int i=0; i<hashCount; i++){
+            long bit=index(hash1+i*hash2);
+            if((bits.get((int) (bit>>>6))&(1L<<bit))==0){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long index(long combined){
+        return (combined&Long.MAX_VALUE)%bitCount;
+    }
+
+    //64비트 FNV-1a
+    private static long hash(String value){
+        long hash=0xcbf29ce484222325L;
+        for(byte b : value.getBytes(StandardCharsets.UTF_8)){
+            hash^=b;
+            hash*=0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    //비트를 고르게 섞음(SplitMix64 마무리 단계)
+    private static long mix(long value){
+        value=(value^(value>>>30))*0xbf58476d1ce4e5b9L;
+        value=(value^(value>>>27))*0x94d049bb133111ebL;
+        return value^(value>>>31);
+    }
+}
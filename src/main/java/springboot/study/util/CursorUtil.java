@@ -0,0 +1,26 @@
+package springboot.study.util;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+//목록 조회 커서를 관리하는 클래스(마지막으로 읽은 글의 id를 불투명한 문자열로 감춤)
+public class CursorUtil {
+    //id를 커서 문자열로 인코딩
+    public static String encode(Long id){
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    //커서 문자열을 id로 디코딩, 잘못된 커서면 400 응답
+    public static Long decode(String cursor){
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) { //NumberFormatException 포함
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid cursor: " + cursor);
+        }
+    }
+}
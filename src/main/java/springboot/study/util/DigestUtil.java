@@ -0,0 +1,19 @@
+package springboot.study.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+//토큰 원문 대신 저장하거나 키로 쓰기 위한 고정 길이 해시를 만드는 클래스
+public class DigestUtil {
+    //SHA-256 해시를 16진수 문자열(64자)로 반환
+    public static String sha256(String value){
+        try {
+            MessageDigest digest=MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) { //모든 JVM이 SHA-256을 지원하므로 발생하지 않음
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package springboot.study.util;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+//같은 키로 동시에 들어온 조회를 하나로 합치는 클래스
+//먼저 들어온 요청만 loader를 실행하고, 나머지는 그 결과(또는 예외)를 timeout까지 기다려서 함께 받음
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Duration timeout;
+
+    public SingleFlight(Duration timeout){
+        this.timeout=timeout;
+    }
+
+    public V load(K key, Supplier<V> loader){
+        CompletableFuture<V> created=new CompletableFuture<>();
+        CompletableFuture<V> running=inFlight.putIfAbsent(key, created);
+        if(running!=null){ //이미 다른 요청이 읽는 중이면 결과를 기다림
+            return await(key, running);
+        }
+
+        try {
+            V value=loader.get();
+            created.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e); //기다리던 요청에도 같은 예외 전달
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    private V await(K key, CompletableFuture<V> running){
+        try {
+            return running.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("load timed out: " + key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("load interrupted: " + key);
+        } catch (ExecutionException e) {
+            Throwable cause=e.getCause();
+            if(cause instanceof RuntimeException runtimeException){
+                throw runtimeException;
+            }
+            if(cause instanceof Error error){
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
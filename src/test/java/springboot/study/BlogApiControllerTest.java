@@ -16,14 +16,18 @@ import springboot.study.domain.Article;
 import springboot.study.dto.AddArticleRequest;
 import springboot.study.dto.UpdateArticleRequest;
 import springboot.study.repository.BlogRepository;
+import springboot.study.service.ArticleViewCounter;
+import springboot.study.service.BlogService;
 
 import java.util.List;
+import java.util.stream.IntStream;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -42,6 +46,9 @@ class BlogApiControllerTest {
     @Autowired
     BlogRepository blogRepository;
 
+    @Autowired
+    ArticleViewCounter articleViewCounter;
+
     @BeforeEach
     public void mockMvcSetUp(){
         this.mockMvc= MockMvcBuilders.webAppContextSetup(context)
@@ -99,6 +106,68 @@ class BlogApiControllerTest {
                 .andExpect(jsonPath("$[0].title").value(title));
     }
 
+    @DisplayName("findAllArticles: 커서를 따라 블로그 글 목록을 나누어 조회한다.")
+    @Test
+    public void findAllArticlesWithCursor() throws Exception{
+        //given-블로그 글 3개 저장
+        final String url="/api/articles";
+
+        for(int i=1;i<=3;i++){
+            blogRepository.save(Article.builder()
+                    .title("title "+i)
+                    .content("content "+i)
+                    .build());
+        }
+
+        //when-2개씩 첫 페이지 조회
+        String nextCursor=mockMvc.perform(get(url).param("size","2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("title 3"))
+                .andReturn()
+                .getResponse()
+                .getHeader("X-Next-Cursor");
+
+        //then-커서로 다음 페이지를 조회하면 남은 1개가 나오고 더 이상 커서가 없음
+        assertThat(nextCursor).isNotNull();
+        mockMvc.perform(get(url).param("size","2").param("cursor",nextCursor)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("title 1"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @DisplayName("findAllArticles: 잘못된 커서로 조회하면 400 응답을 받는다.")
+    @Test
+    public void findAllArticlesWithInvalidCursor() throws Exception{
+        //when-디코딩할 수 없는 커서로 목록 조회
+        final ResultActions resultActions=mockMvc.perform(get("/api/articles").param("cursor","not-a-cursor!")
+                .accept(MediaType.APPLICATION_JSON));
+
+        //then
+        resultActions.andExpect(status().isBadRequest());
+    }
+
+    @DisplayName("addArticles: 한 번에 등록할 수 있는 글 수를 넘으면 400 응답을 받고 아무것도 저장하지 않는다.")
+    @Test
+    public void addArticlesTooMany() throws Exception{
+        //given-최대 개수보다 하나 많은 글
+        final List<AddArticleRequest> requests=IntStream.rangeClosed(0, BlogService.MAX_BATCH_SIZE)
+                .mapToObj(i->new AddArticleRequest("title "+i,"content "+i))
+                .toList();
+
+        //when
+        final ResultActions resultActions=mockMvc.perform(post("/api/articles/batch")
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(objectMapper.writeValueAsString(requests)));
+
+        //then
+        resultActions.andExpect(status().isBadRequest());
+        assertThat(blogRepository.count()).isZero();
+    }
+
     @DisplayName("findArticle: 블로그 글 조회에 성공")
     @Test
     public void findArticle() throws Exception{
@@ -122,6 +191,58 @@ class BlogApiControllerTest {
                 .andExpect(jsonPath("$.title").value(title));
     }
 
+    @DisplayName("findArticle: 글이 바뀌지 않았으면 ETag로 304 응답을 받는다.")
+    @Test
+    public void findArticleNotModified() throws Exception{
+        //given-블로그 글 저장 후 한 번 조회해서 ETag를 받음
+        final String url="/api/articles/{id}";
+
+        Article savedArticle=blogRepository.save(Article.builder()
+                .title("title")
+                .content("content")
+                .build());
+        String eTag=mockMvc.perform(get(url,savedArticle.getId()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        //when-받은 ETag로 다시 조회
+        final ResultActions resultActions=mockMvc.perform(get(url,savedArticle.getId())
+                .header("If-None-Match",eTag));
+
+        //then-본문 없이 304 응답
+        assertThat(eTag).isNotNull();
+        resultActions
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag",eTag));
+    }
+
+    @DisplayName("findArticle: 조회수는 메모리에 모였다가 반영되고 많이 본 글 목록에 나온다.")
+    @Test
+    public void findArticleCountsViews() throws Exception{
+        //given-블로그 글 저장
+        final String url="/api/articles/{id}";
+
+        Article savedArticle=blogRepository.save(Article.builder()
+                .title("title")
+                .content("content")
+                .build());
+
+        //when-두 번 조회한 뒤 조회수 반영
+        mockMvc.perform(get(url,savedArticle.getId()));
+        mockMvc.perform(get(url,savedArticle.getId()));
+        articleViewCounter.flush();
+
+        //then-DB의 조회수가 2이고 많이 본 글 목록 맨 앞에 나옴
+        Article article=blogRepository.findById(savedArticle.getId()).get();
+        assertThat(article.getViewCount()).isEqualTo(2);
+        mockMvc.perform(get("/api/articles/most-viewed"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(savedArticle.getId()))
+                .andExpect(jsonPath("$[0].viewCount").value(2));
+    }
+
     @DisplayName("deleteArticle: 블로그 글 삭제 성공")
     @Test
     public void deleteArticle() throws Exception{
@@ -176,5 +297,32 @@ class BlogApiControllerTest {
         assertThat(article.getContent()).isEqualTo(newContent);
     }
 
+    @DisplayName("updateArticle: 캐시된 글을 수정하면 다음 조회에서 수정된 글이 나온다.")
+    @Test
+    public void updateArticleEvictsCache() throws Exception{
+        //given-블로그 글 저장 후 한 번 조회해서 캐시에 올림
+        final String url="/api/articles/{id}";
+
+        Article savedArticle=blogRepository.save(Article.builder()
+                .title("title")
+                .content("content")
+                .build());
+        mockMvc.perform(get(url,savedArticle.getId()))
+                .andExpect(status().isOk());
+
+        //when-api로 수정 요청
+        UpdateArticleRequest request=new UpdateArticleRequest("new Title","new Content");
+        mockMvc.perform(put(url,savedArticle.getId())
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        //then-다시 조회하면 캐시가 아닌 수정된 값이 나옴
+        mockMvc.perform(get(url,savedArticle.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("new Title"))
+                .andExpect(jsonPath("$.content").value("new Content"));
+    }
+
 
 }
\ No newline at end of file
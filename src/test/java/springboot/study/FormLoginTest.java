@@ -0,0 +1,58 @@
+package springboot.study;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import springboot.study.domain.User;
+import springboot.study.repository.UserRepository;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//대기 시간을 0으로 두어 비밀번호 검증이 항상 시간 초과(스레드 풀이 바쁜 경우)가 되도록 함
+@SpringBootTest(properties = "blog.password-hashing.wait-timeout=0s")
+class FormLoginTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void mockMvcSetUp() {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        userRepository.deleteAll();
+    }
+
+    @DisplayName("formLogin: 비밀번호 해시 스레드 풀이 바빠서 검증하지 못하면 로그인 페이지로 보내지 않고 503 응답을 받는다.")
+    @Test
+    public void formLoginServiceUnavailable() throws Exception {
+        // given
+        userRepository.save(User.builder()
+                .email("user@gmail.com")
+                .password("test")
+                .build());
+
+        // when
+        ResultActions resultActions = mockMvc.perform(post("/login")
+                .with(csrf())
+                .param("username", "user@gmail.com")
+                .param("password", "password"));
+
+        // then
+        resultActions.andExpect(status().isServiceUnavailable());
+    }
+}
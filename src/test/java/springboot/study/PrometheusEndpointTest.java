@@ -0,0 +1,76 @@
+package springboot.study;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import springboot.study.config.jwt.TokenProvider;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureObservability(tracing = false) //테스트에서는 기본적으로 메트릭을 내보내지 않음
+class PrometheusEndpointTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private TokenProvider tokenProvider;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void mockMvcSetUp() {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .apply(springSecurity()) //실제 요청처럼 시큐리티 필터 체인(토큰 인증 필터 포함)을 거침
+                .build();
+    }
+
+    @DisplayName("prometheus: 토큰 발급, 검증, 인증 필터, 비밀번호 해시 타이머와 커넥션 풀 메트릭을 노출한다.")
+    @Test
+    public void prometheus() throws Exception {
+        // given 각 경로를 한 번씩 실행(토큰을 보낸 요청은 시큐리티 체인의 인증 필터를 거침)
+        String token = tokenProvider.generateToken(1L, "user@gmail.com", Duration.ofHours(1));
+        passwordEncoder.encode("password");
+        mockMvc.perform(get("/actuator/health")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        // when 로그인 없이 수집
+        String body = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        // then
+        assertThat(body).contains(
+                "jwt_generate_seconds_bucket",
+                "jwt_validate_seconds_count",
+                "auth_filter_seconds_count{result=\"authenticated\"",
+                "password_hashing_seconds_count{operation=\"encode\"",
+                "hikaricp_connections");
+    }
+
+    @DisplayName("actuator: health, prometheus 외의 엔드포인트는 로그인하지 않으면 401 응답을 받는다.")
+    @Test
+    public void actuatorRequiresAuthentication() throws Exception {
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,37 @@
+package springboot.study;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTask;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//설정을 덮어쓰지 않고 배포되는 application.yml 그대로 컨텍스트를 띄움(잘못된 설정 값은 여기서 실패)
+@SpringBootTest
+class StudyApplicationTests {
+
+    @Autowired
+    private ScheduledTaskHolder scheduledTaskHolder;
+
+    @DisplayName("contextLoads: application.yml의 주기로 @Scheduled 작업이 모두 등록된다.")
+    @Test
+    void contextLoads() {
+        // when 등록된 고정 지연 작업의 주기
+        List<Duration> intervals = scheduledTaskHolder.getScheduledTasks().stream()
+                .map(ScheduledTask::getTask)
+                .filter(task -> task instanceof FixedDelayTask)
+                .map(task -> ((FixedDelayTask) task).getIntervalDuration())
+                .toList();
+
+        // then 조회수 반영, 요청 제한 버킷 정리, 폐기 정보 정리, 리프레시 토큰 정리
+        assertThat(intervals).containsExactlyInAnyOrder(
+                Duration.ofSeconds(5), Duration.ofMinutes(1), Duration.ofMinutes(10), Duration.ofHours(1));
+    }
+}
@@ -1,6 +1,7 @@
 package springboot.study;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -9,27 +10,39 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 import springboot.study.config.jwt.JwtFactory;
+import springboot.study.config.jwt.JwtKeyRing;
 import springboot.study.config.jwt.JwtProperties;
+import springboot.study.config.jwt.TokenProvider;
 import springboot.study.domain.RefreshToken;
 import springboot.study.domain.User;
 import springboot.study.dto.CreateAccessTokenRequest;
+import springboot.study.dto.RevokeTokenRequest;
+import springboot.study.dto.RotateSigningKeyRequest;
 import springboot.study.repository.RefreshTokenRepository;
 import springboot.study.repository.UserRepository;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Date;
 import java.util.Map;
 
-import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
-@SpringBootTest
+@SpringBootTest(properties = "jwt.admin-emails=admin@gmail.com")
 @AutoConfigureMockMvc
 class TokenApiControllerTest {
 
@@ -51,10 +64,18 @@ class TokenApiControllerTest {
     @Autowired
     RefreshTokenRepository refreshTokenRepository;
 
+    @Autowired
+    TokenProvider tokenProvider;
+
+    private MockMvc securedMockMvc; //관리자 API 권한 확인용(시큐리티 필터 적용)
+
     @BeforeEach
     public void mockMvcSetUp() {
         this.mockMvc = MockMvcBuilders.webAppContextSetup(context)
                 .build();
+        this.securedMockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
         userRepository.deleteAll();
     }
 
@@ -74,7 +95,7 @@ class TokenApiControllerTest {
                 .build()
                 .createToken(jwtProperties);
 
-        refreshTokenRepository.save(new RefreshToken(testUser.getId(), refreshToken));
+        refreshTokenRepository.save(new RefreshToken(testUser.getId(), refreshToken, LocalDateTime.now().plusDays(14)));
 
         CreateAccessTokenRequest request = new CreateAccessTokenRequest();
         request.setRefreshToken(refreshToken);
@@ -91,4 +112,235 @@ class TokenApiControllerTest {
                 .andExpect(jsonPath("$.accessToken").isNotEmpty());
     }
 
-}
\ No newline at end of file
+    @DisplayName("rotateSigningKey: 관리자는 재시작 없이 서명 키를 바꾸고, 이전 키로 발급된 토큰은 키를 제거할 때까지 유효하다.")
+    @WithMockUser(roles = "ADMIN")
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD) //서명 키가 바뀐 컨텍스트를 다른 테스트가 쓰지 않도록
+    @Test
+    public void rotateSigningKey() throws Exception {
+        // given 기존 키로 발급된 토큰
+        String oldToken = tokenProvider.generateToken(1L, "user@gmail.com", Duration.ofHours(1));
+        String secret = "cm90YXRlZC1zZWNyZXQ";
+        final String requestBody = objectMapper.writeValueAsString(new RotateSigningKeyRequest("rotated", secret));
+
+        // when 새 키로 교체
+        securedMockMvc.perform(post("/api/admin/signing-keys")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(requestBody))
+                .andExpect(status().isNoContent());
+
+        // then 새 토큰은 새 kid로 서명되고 기존 토큰도 유효
+        String newToken = tokenProvider.generateToken(1L, "user@gmail.com", Duration.ofHours(1));
+        assertThat(Jwts.parser().setSigningKey(secret).parseClaimsJws(newToken).getHeader().getKeyId()).isEqualTo("rotated");
+        assertThat(tokenProvider.validToken(oldToken)).isTrue();
+
+        // when 기존 키 제거
+        securedMockMvc.perform(delete("/api/admin/signing-keys/{keyId}", JwtKeyRing.DEFAULT_KEY_ID)
+                        .with(csrf()))
+                .andExpect(status().isNoContent());
+
+        // then 기존 키의 토큰만 거부됨
+        assertThat(tokenProvider.validToken(oldToken)).isFalse();
+        assertThat(tokenProvider.validToken(newToken)).isTrue();
+    }
+
+    @DisplayName("rotateSigningKey: 관리자 토큰을 Authorization 헤더로 보내면 csrf 토큰 없이 서명 키를 바꿀 수 있다.")
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    @Test
+    public void rotateSigningKeyWithBearerToken() throws Exception {
+        // given 관리자 토큰
+        User admin = userRepository.save(User.builder()
+                .email("admin@gmail.com")
+                .password("test")
+                .build());
+        String adminToken = tokenProvider.generateToken(admin, Duration.ofHours(1));
+        String secret = "cm90YXRlZC1zZWNyZXQ";
+
+        // when
+        securedMockMvc.perform(post("/api/admin/signing-keys")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(new RotateSigningKeyRequest("rotated", secret))))
+                .andExpect(status().isNoContent());
+
+        // then 새 토큰은 새 kid로 서명되고, 교체에 사용한 관리자 토큰도 기존 키로 계속 유효
+        String newToken = tokenProvider.generateToken(admin, Duration.ofHours(1));
+        assertThat(Jwts.parser().setSigningKey(secret).parseClaimsJws(newToken).getHeader().getKeyId()).isEqualTo("rotated");
+        assertThat(tokenProvider.validToken(adminToken)).isTrue();
+    }
+
+    @DisplayName("rotateSigningKey: 이미 있는 kid나 base64가 아닌 secret이면 400 응답을 받고 키는 바뀌지 않는다.")
+    @WithMockUser(roles = "ADMIN")
+    @Test
+    public void rotateSigningKeyInvalid() throws Exception {
+        // given 기존 키로 발급된 토큰
+        String token = tokenProvider.generateToken(1L, "user@gmail.com", Duration.ofHours(1));
+
+        // when 기존 kid로 교체, base64가 아닌 secret으로 교체
+        securedMockMvc.perform(post("/api/admin/signing-keys")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(new RotateSigningKeyRequest(JwtKeyRing.DEFAULT_KEY_ID, "cm90YXRlZC1zZWNyZXQ"))))
+                .andExpect(status().isBadRequest());
+        securedMockMvc.perform(post("/api/admin/signing-keys")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(new RotateSigningKeyRequest("rotated", "not base64!"))))
+                .andExpect(status().isBadRequest());
+
+        // then 기존 토큰은 유효하고 새 토큰도 기존 키로 서명됨
+        assertThat(tokenProvider.validToken(token)).isTrue();
+        String newToken = tokenProvider.generateToken(1L, "user@gmail.com", Duration.ofHours(1));
+        assertThat(Jwts.parser().setSigningKey(jwtProperties.getSecretKey()).parseClaimsJws(newToken).getHeader().getKeyId())
+                .isEqualTo(JwtKeyRing.DEFAULT_KEY_ID);
+    }
+
+    @DisplayName("rotateSigningKey: 관리자가 아니면 403 응답을 받고 키는 바뀌지 않는다.")
+    @WithMockUser(roles = "USER")
+    @Test
+    public void rotateSigningKeyForbidden() throws Exception {
+        // given
+        final String requestBody = objectMapper.writeValueAsString(new RotateSigningKeyRequest("rotated", "cm90YXRlZC1zZWNyZXQ"));
+
+        // when
+        ResultActions resultActions = securedMockMvc.perform(post("/api/admin/signing-keys")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(requestBody));
+
+        // then
+        resultActions.andExpect(status().isForbidden());
+        String token = tokenProvider.generateToken(1L, "user@gmail.com", Duration.ofHours(1));
+        assertThat(Jwts.parser().setSigningKey(jwtProperties.getSecretKey()).parseClaimsJws(token).getHeader().getKeyId())
+                .isEqualTo(JwtKeyRing.DEFAULT_KEY_ID);
+    }
+
+    @DisplayName("logout: 유효하지 않은 토큰으로 로그아웃하면 401 응답을 받는다.")
+    @Test
+    public void logoutWithInvalidToken() throws Exception {
+        // given 이미 만료된 토큰
+        String expiredToken = JwtFactory.builder()
+                .expiration(new Date(System.currentTimeMillis() - Duration.ofDays(1).toMillis()))
+                .build()
+                .createToken(jwtProperties);
+
+        // when
+        ResultActions resultActions = mockMvc.perform(delete("/api/token")
+                .header("Authorization", "Bearer " + expiredToken));
+
+        // then
+        resultActions.andExpect(status().isUnauthorized());
+    }
+
+    @DisplayName("revoke: 관리자가 아니면 다른 유저의 토큰을 폐기할 수 없다(403).")
+    @WithMockUser(roles = "USER")
+    @Test
+    public void revokeForbidden() throws Exception {
+        // given 다른 유저의 토큰과 리프레시 토큰
+        User otherUser = userRepository.save(User.builder()
+                .email("other@gmail.com")
+                .password("test")
+                .build());
+        String accessToken = tokenProvider.generateToken(otherUser, Duration.ofHours(1));
+        refreshTokenRepository.save(new RefreshToken(otherUser.getId(), "refresh-token", LocalDateTime.now().plusDays(14)));
+
+        RevokeTokenRequest request = new RevokeTokenRequest();
+        request.setUserId(otherUser.getId());
+
+        // when
+        ResultActions resultActions = securedMockMvc.perform(post("/api/admin/token-revocations")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(objectMapper.writeValueAsString(request)));
+
+        // then 거절되고 다른 유저의 토큰은 그대로 유효
+        resultActions.andExpect(status().isForbidden());
+        assertThat(tokenProvider.validToken(accessToken)).isTrue();
+        assertThat(refreshTokenRepository.findByUserId(otherUser.getId())).isPresent();
+    }
+
+    @DisplayName("revoke: 관리자는 유저의 토큰을 모두 폐기할 수 있다.")
+    @WithMockUser(roles = "ADMIN")
+    @Test
+    public void revoke() throws Exception {
+        // given
+        User otherUser = userRepository.save(User.builder()
+                .email("revoked@gmail.com")
+                .password("test")
+                .build());
+        String accessToken = tokenProvider.generateToken(otherUser, Duration.ofHours(1));
+
+        RevokeTokenRequest request = new RevokeTokenRequest();
+        request.setUserId(otherUser.getId());
+
+        // when
+        ResultActions resultActions = securedMockMvc.perform(post("/api/admin/token-revocations")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(objectMapper.writeValueAsString(request)));
+
+        // then
+        resultActions.andExpect(status().isNoContent());
+        assertThat(tokenProvider.validToken(accessToken)).isFalse();
+    }
+
+    @DisplayName("revoke: 관리자 이메일(jwt.admin-emails)의 토큰을 Authorization 헤더로 보내면 csrf 토큰 없이 유저의 토큰을 폐기할 수 있다.")
+    @Test
+    public void revokeWithBearerToken() throws Exception {
+        // given 관리자 토큰과 폐기할 유저의 토큰
+        User otherUser = userRepository.save(User.builder()
+                .email("bearer-revoked@gmail.com")
+                .password("test")
+                .build());
+        String accessToken = tokenProvider.generateToken(otherUser, Duration.ofHours(1));
+        User admin = userRepository.save(User.builder()
+                .email("admin@gmail.com")
+                .password("test")
+                .build());
+        String adminToken = tokenProvider.generateToken(admin, Duration.ofHours(1));
+
+        RevokeTokenRequest request = new RevokeTokenRequest();
+        request.setUserId(otherUser.getId());
+
+        // when
+        ResultActions resultActions = securedMockMvc.perform(post("/api/admin/token-revocations")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(objectMapper.writeValueAsString(request)));
+
+        // then
+        resultActions.andExpect(status().isNoContent());
+        assertThat(tokenProvider.validToken(accessToken)).isFalse();
+        assertThat(tokenProvider.validToken(adminToken)).isTrue();
+    }
+
+    @DisplayName("revoke: 관리자가 아닌 유저의 토큰이면 403, 토큰이 없으면 401 응답을 받는다.")
+    @Test
+    public void revokeWithBearerTokenRejected() throws Exception {
+        // given
+        User user = userRepository.save(User.builder()
+                .email("user@gmail.com")
+                .password("test")
+                .build());
+        String userToken = tokenProvider.generateToken(user, Duration.ofHours(1));
+        RevokeTokenRequest request = new RevokeTokenRequest();
+        request.setUserId(user.getId());
+        final String requestBody = objectMapper.writeValueAsString(request);
+
+        // when 일반 유저 토큰
+        securedMockMvc.perform(post("/api/admin/token-revocations")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(requestBody))
+                // then
+                .andExpect(status().isForbidden());
+
+        // when 토큰 없음
+        securedMockMvc.perform(post("/api/admin/token-revocations")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(requestBody))
+                // then 로그인 페이지로 리다이렉트하지 않고 401
+                .andExpect(status().isUnauthorized());
+        assertThat(tokenProvider.validToken(userToken)).isTrue();
+    }
+}
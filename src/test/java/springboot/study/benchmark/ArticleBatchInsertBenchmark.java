@@ -0,0 +1,66 @@
+package springboot.study.benchmark;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import springboot.study.dto.AddArticleRequest;
+import springboot.study.repository.BlogRepository;
+import springboot.study.service.BlogService;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//글 등록 처리량(rows/sec) 측정: ./gradlew benchmark
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class ArticleBatchInsertBenchmark {
+
+    private static final int ROWS = 20_000;
+
+    @Autowired
+    BlogService blogService;
+
+    @Autowired
+    BlogRepository blogRepository;
+
+    @BeforeEach
+    void setUp() {
+        blogRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("saveAll(): 배치 등록과 한 건씩 등록의 처리량 비교")
+    @Test
+    void batchInsertThroughput() {
+        // given 같은 크기의 글 목록
+        List<AddArticleRequest> requests = IntStream.range(0, ROWS)
+                .mapToObj(i -> new AddArticleRequest("title " + i, "content " + i))
+                .toList();
+
+        // when 한 건씩 등록(요청마다 트랜잭션 하나)
+        long started = System.nanoTime();
+        requests.forEach(blogService::save);
+        double singleRowsPerSec = rowsPerSec(ROWS, System.nanoTime() - started);
+        blogRepository.deleteAllInBatch();
+
+        // when 최대 크기로 나누어 배치 등록
+        started = System.nanoTime();
+        for (int from = 0; from < ROWS; from += BlogService.MAX_BATCH_SIZE) {
+            blogService.saveAll(requests.subList(from, Math.min(from + BlogService.MAX_BATCH_SIZE, ROWS)));
+        }
+        double batchRowsPerSec = rowsPerSec(ROWS, System.nanoTime() - started);
+
+        // then 모두 저장되었는지 확인하고 결과 출력
+        assertThat(blogRepository.count()).isEqualTo(ROWS);
+        System.out.printf("[benchmark] article insert rows=%d single=%.0f rows/sec batch=%.0f rows/sec (x%.1f)%n",
+                ROWS, singleRowsPerSec, batchRowsPerSec, batchRowsPerSec / singleRowsPerSec);
+    }
+
+    private static double rowsPerSec(int rows, long elapsedNanos) {
+        return rows / (elapsedNanos / 1_000_000_000.0);
+    }
+}
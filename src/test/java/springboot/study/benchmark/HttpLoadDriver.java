@@ -0,0 +1,132 @@
+package springboot.study.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+//동시 사용자 수만큼 스레드를 두고 정해진 시간 동안 같은 요청을 반복해서 지연 시간 분포와 처리량을 계산하는 부하 도구
+//200 응답만 성공으로 셈(리다이렉트, 오류 응답을 측정하지 않도록), 나머지는 errors로 세고 준비 단계에서 나오면 바로 실패
+public class HttpLoadDriver {
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    public Result run(URI uri, int concurrency, Duration warmup, Duration duration) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().timeout(Duration.ofSeconds(30)).build();
+        Result warmupResult = measure(request, concurrency, warmup); //JIT, 커넥션 준비(결과는 버림)
+        if (warmupResult.errors() > 0) {
+            throw new IllegalStateException("warmup failed: " + uri + " " + warmupResult);
+        }
+        return measure(request, concurrency, duration);
+    }
+
+    //요청 한 번의 응답 본문, 200이 아니면 예외(측정 전에 무엇을 측정하는지 확인하는 용도)
+    public String fetch(URI uri) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().timeout(Duration.ofSeconds(30)).build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("unexpected status " + response.statusCode() + ": " + uri);
+        }
+        return response.body();
+    }
+
+    //서버가 200으로 응답할 때까지 기다림(별도 프로세스로 띄운 앱용), 200이 아닌 응답이 오면 바로 실패
+    public void awaitReady(URI uri, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                fetch(uri);
+                return;
+            } catch (IOException e) { //아직 포트가 열리지 않음
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("server not ready: " + uri);
+    }
+
+    private Result measure(HttpRequest request, int concurrency, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<User> users = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+
+        long started = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            User user = new User(request, deadline);
+            Thread thread = new Thread(user, "load-" + i);
+            users.add(user);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double elapsedSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+        long[] latencies = users.stream()
+                .flatMapToLong(user -> Arrays.stream(user.latencies, 0, user.count))
+                .sorted()
+                .toArray();
+        long errors = users.stream().mapToLong(user -> user.errors).sum();
+        return new Result(latencies.length, errors, latencies.length / elapsedSeconds,
+                percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.99));
+    }
+
+    private static double percentileMillis(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    //사용자 한 명: 응답을 받으면 바로 다음 요청(성공한 요청의 지연 시간만 기록)
+    private class User implements Runnable {
+        private final HttpRequest request;
+        private final long deadline;
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        User(HttpRequest request, long deadline) {
+            this.request = request;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void run() {
+            while (System.nanoTime() < deadline) {
+                long started = System.nanoTime();
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() != 200) {
+                        errors++;
+                        continue;
+                    }
+                } catch (Exception e) {
+                    errors++;
+                    continue;
+                }
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = System.nanoTime() - started;
+            }
+        }
+    }
+
+    public record Result(long requests, long errors, double throughput, double p50Millis, double p99Millis) {
+        @Override
+        public String toString() {
+            return String.format("requests=%d errors=%d throughput=%.0f req/sec p50=%.1fms p99=%.1fms",
+                    requests, errors, throughput, p50Millis, p99Millis);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package springboot.study.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+//JPA(톰캣) 앱과 WebFlux/R2DBC 앱의 글 목록 조회 처리량, p99 비교: ./gradlew benchmark
+//두 앱을 같은 조건(각각 별도 JVM, 같은 데이터)으로 띄우고 같은 부하를 보냄
+//JPA 앱은 benchmark 프로필로 띄워서 로그인 리다이렉트 없이 글 목록을 받고, 두 앱의 응답 본문이 같은지 먼저 확인
+@Tag("benchmark")
+class ReactiveLoadBenchmark {
+
+    private static final String PATH = "/api/articles?size=20";
+    private static final int CONCURRENCY = 1_000;
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(60);
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration DURATION = Duration.ofSeconds(20);
+
+    private final HttpLoadDriver loadDriver = new HttpLoadDriver();
+
+    @DisplayName("글 목록 조회: JPA(서블릿) 앱과 리액티브 앱의 처리량, p99 비교")
+    @Test
+    void servletVsReactive() throws Exception {
+        //benchmark 태스크가 두 앱의 bootJar를 만들어 경로를 넘겨줌
+        String servletJar = System.getProperty("servlet.jar");
+        String reactiveJar = System.getProperty("reactive.jar");
+        assumeTrue(servletJar != null && reactiveJar != null, "./gradlew benchmark로 실행해야 함");
+
+        // when 같은 부하를 두 앱에 각각 실행
+        Run servlet = runJar(servletJar, "--spring.profiles.active=benchmark", "--spring.jpa.show-sql=false");
+        Run reactive = runJar(reactiveJar);
+
+        // then 두 앱이 같은 본문을 200으로 응답했는지 확인하고 결과 출력
+        assertThat(reactive.body()).isEqualTo(servlet.body());
+        assertThat(servlet.result().requests()).isPositive();
+        assertThat(reactive.result().requests()).isPositive();
+        assertThat(servlet.result().errors()).as("servlet: " + servlet.result()).isZero();
+        assertThat(reactive.result().errors()).as("reactive: " + reactive.result()).isZero();
+        System.out.printf("[benchmark] GET %s concurrency=%d%n  servlet:  %s%n  reactive: %s%n",
+                PATH, CONCURRENCY, servlet.result(), reactive.result());
+    }
+
+    private Run runJar(String jar, String... args) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-jar", jar, "--server.port=" + port));
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            URI uri = URI.create("http://localhost:" + port + PATH);
+            loadDriver.awaitReady(uri, STARTUP_TIMEOUT);
+            String body = loadDriver.fetch(uri); //측정하는 응답(두 앱 비교용)
+            return new Run(body, loadDriver.run(uri, CONCURRENCY, WARMUP, DURATION));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Run(String body, HttpLoadDriver.Result result) {
+    }
+}
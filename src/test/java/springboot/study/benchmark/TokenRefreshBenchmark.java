@@ -0,0 +1,112 @@
+package springboot.study.benchmark;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import springboot.study.config.jwt.TokenProvider;
+import springboot.study.domain.RefreshToken;
+import springboot.study.domain.User;
+import springboot.study.dto.TokenOwner;
+import springboot.study.repository.RefreshTokenRepository;
+import springboot.study.repository.UserRepository;
+import springboot.study.service.TokenService;
+import springboot.study.util.DigestUtil;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//토큰 재발급 처리량(refresh/sec) 측정: ./gradlew benchmark
+//액세스 토큰이 한꺼번에 만료된 상황처럼 서로 다른 리프레시 토큰을 여러 스레드에서 동시에 요청
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class TokenRefreshBenchmark {
+
+    private static final int USERS = 5_000;
+    private static final int THREADS = 8;
+
+    @Autowired
+    TokenService tokenService;
+
+    @Autowired
+    TokenProvider tokenProvider;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    RefreshTokenRepository refreshTokenRepository;
+
+    private List<String> refreshTokens;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+
+        List<User> users = userRepository.saveAll(IntStream.range(0, USERS)
+                .mapToObj(i -> User.builder()
+                        .email("user" + i + "@gmail.com")
+                        .password("test")
+                        .build())
+                .toList());
+        refreshTokens = users.stream()
+                .map(user -> tokenProvider.generateToken(user, Duration.ofDays(14)))
+                .toList();
+        refreshTokenRepository.saveAll(IntStream.range(0, USERS)
+                .mapToObj(i -> new RefreshToken(users.get(i).getId(), refreshTokens.get(i), LocalDateTime.now().plusDays(14)))
+                .toList());
+    }
+
+    @DisplayName("createNewAccessToken(): 토큰 조회 후 사용자 조회(2회)와 조인 조회(1회)의 처리량 비교")
+    @Test
+    void refreshThroughput() throws Exception {
+        // when 이전 방식: 토큰 조회 후 사용자 조회
+        double twoQueries = throughput(refreshToken -> {
+            Long userId = refreshTokenRepository.findByTokenHash(DigestUtil.sha256(refreshToken)).orElseThrow().getUserId();
+            User user = userRepository.findById(userId).orElseThrow();
+            tokenProvider.generateToken(user, Duration.ofHours(2));
+        });
+
+        // when 조인 조회 한 번
+        double joined = throughput(refreshToken -> {
+            TokenOwner owner = refreshTokenRepository.findOwnerByTokenHash(DigestUtil.sha256(refreshToken)).orElseThrow();
+            tokenProvider.generateToken(owner.getId(), owner.getEmail(), Duration.ofHours(2));
+        });
+
+        // when 서비스 경로(처음은 캐시 미스, 두 번째는 캐시 히트)
+        double serviceCold = throughput(tokenService::createNewAccessToken);
+        double serviceWarm = throughput(tokenService::createNewAccessToken);
+
+        // then 모두 재발급되었는지 확인하고 결과 출력
+        assertThat(tokenService.createNewAccessToken(refreshTokens.get(0))).isNotEmpty();
+        System.out.printf("[benchmark] token refresh users=%d threads=%d two-queries=%.0f/sec joined=%.0f/sec (x%.1f) service-cold=%.0f/sec service-warm=%.0f/sec%n",
+                USERS, THREADS, twoQueries, joined, joined / twoQueries, serviceCold, serviceWarm);
+    }
+
+    private double throughput(Consumer<String> refresh) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long started = System.nanoTime();
+            List<Future<?>> futures = refreshTokens.stream()
+                    .<Future<?>>map(refreshToken -> executor.submit(() -> refresh.accept(refreshToken)))
+                    .toList();
+            for (Future<?> future : futures) {
+                future.get(); //실패한 요청이 있으면 예외로 드러남
+            }
+            return USERS / ((System.nanoTime() - started) / 1_000_000_000.0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package springboot.study.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import springboot.study.StudyApplication;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+//톰캣 스레드 풀(플랫폼 스레드)과 가상 스레드의 요청 처리량, p99 지연 시간 비교: ./gradlew benchmark -PjavaVersion=21
+//DB를 조회하는 글 목록 API에 톰캣 최대 스레드 수(200)보다 많은 동시 요청을 보냄
+//benchmark 프로필(BenchmarkSecurityConfig)로 띄워서 로그인 리다이렉트 없이 글 목록을 200으로 받음
+@Tag("benchmark")
+class VirtualThreadLoadBenchmark {
+
+    private static final int CONCURRENCY = 1_000;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration DURATION = Duration.ofSeconds(20);
+
+    private final HttpLoadDriver loadDriver = new HttpLoadDriver();
+
+    @DisplayName("글 목록 조회: 플랫폼 스레드와 가상 스레드의 처리량, p99 비교")
+    @Test
+    void platformVsVirtualThreads() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "가상 스레드는 JDK 21 이상 필요(-PjavaVersion=21)");
+
+        // when 같은 부하를 두 방식으로 각각 실행
+        HttpLoadDriver.Result platform = runWith(false);
+        HttpLoadDriver.Result virtual = runWith(true);
+
+        // then 두 방식 모두 요청을 처리했고 200이 아닌 응답이 없는지 확인하고 결과 출력
+        assertThat(platform.requests()).isPositive();
+        assertThat(virtual.requests()).isPositive();
+        assertThat(platform.errors()).as("platform: " + platform).isZero();
+        assertThat(virtual.errors()).as("virtual: " + virtual).isZero();
+        System.out.printf("[benchmark] GET /api/articles concurrency=%d%n  platform: %s%n  virtual:  %s%n",
+                CONCURRENCY, platform, virtual);
+    }
+
+    private HttpLoadDriver.Result runWith(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(StudyApplication.class)
+                .profiles("benchmark")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.jpa.show-sql=false",
+                        "spring.datasource.url=jdbc:h2:mem:load-" + virtualThreads) //실행마다 새 DB
+                .run()) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            URI uri = URI.create("http://localhost:" + port + "/api/articles?size=20");
+            assertThat(loadDriver.fetch(uri)).startsWith("[{\"title\""); //리다이렉트가 아니라 글 목록인지 확인
+            return loadDriver.run(uri, CONCURRENCY, WARMUP, DURATION);
+        }
+    }
+}
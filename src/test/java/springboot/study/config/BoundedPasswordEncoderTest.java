@@ -0,0 +1,153 @@
+package springboot.study.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1));
+    private final BoundedPasswordEncoder passwordEncoder =
+            new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), executor, Duration.ofMillis(200), meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @DisplayName("encode(), matches(): 전용 스레드 풀에서 해시하고 검증한다.")
+    @Test
+    void encodeAndMatches() {
+        // when 비밀번호 해시
+        String encoded = passwordEncoder.encode("password");
+
+        // then 같은 비밀번호만 일치하고 해시 시간이 기록됨
+        assertThat(passwordEncoder.matches("password", encoded)).isTrue();
+        assertThat(passwordEncoder.matches("wrong", encoded)).isFalse();
+        assertThat(meterRegistry.get("password.hashing").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("password.hashing").tag("operation", "matches").timer().count()).isEqualTo(2);
+    }
+
+    @DisplayName("encode(): 스레드와 대기열이 모두 차 있으면 기다리지 않고 바로 거절한다.")
+    @Test
+    void encode_rejectedWhenFull() throws Exception {
+        // given 스레드 하나와 대기열 한 칸을 막아둠
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> {
+            release.await();
+            return null;
+        });
+        executor.submit(() -> {
+            release.await();
+            return null;
+        });
+
+        // when, then 해시 요청은 바로 거절(503)
+        assertThatThrownBy(() -> passwordEncoder.encode("password"))
+                .isInstanceOf(PasswordHashingBusyException.class);
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("password.hashing.queue").gauge().value()).isEqualTo(1);
+        release.countDown();
+    }
+
+    @DisplayName("폼 로그인: 스레드와 대기열이 모두 차 있으면 로그인 페이지로 보내지 않고 503으로 응답한다.")
+    @Test
+    void formLogin_serviceUnavailableWhenFull() throws Exception {
+        // given 폼 로그인 필터와 사용자, 스레드 하나와 대기열 한 칸을 막아둠
+        UserDetails user = User.withUsername("user@gmail.com")
+                .password(new BCryptPasswordEncoder(4).encode("password"))
+                .roles("USER")
+                .build();
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(passwordEncoder);
+        provider.setUserDetailsService(new InMemoryUserDetailsManager(user));
+        UsernamePasswordAuthenticationFilter filter = new UsernamePasswordAuthenticationFilter(new ProviderManager(provider));
+        filter.setAuthenticationFailureHandler(new PasswordHashingFailureHandler("/login?error"));
+
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> {
+            release.await();
+            return null;
+        });
+        executor.submit(() -> {
+            release.await();
+            return null;
+        });
+
+        // when 로그인 요청
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+        request.setServletPath("/login");
+        request.addParameter("username", "user@gmail.com");
+        request.addParameter("password", "password");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+
+        // then 비밀번호가 틀렸을 때처럼 /login?error로 보내지 않고 503
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(response.getRedirectedUrl()).isNull();
+        release.countDown();
+    }
+
+    @DisplayName("matches(): 스레드와 대기열이 모두 차 있으면 인증 예외(PasswordHashingBusyException)로 거절한다.")
+    @Test
+    void matches_rejectedWhenFull() throws Exception {
+        // given 스레드 하나와 대기열 한 칸을 막아둠
+        String encoded = new BCryptPasswordEncoder(4).encode("password");
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> {
+            release.await();
+            return null;
+        });
+        executor.submit(() -> {
+            release.await();
+            return null;
+        });
+
+        // when, then 시큐리티 필터가 처리할 수 있는 인증 예외
+        assertThatThrownBy(() -> passwordEncoder.matches("password", encoded))
+                .isInstanceOf(PasswordHashingBusyException.class);
+        release.countDown();
+    }
+
+    @DisplayName("encode(): 대기열에서 wait-timeout 안에 끝나지 않으면 요청을 취소하고 거절한다.")
+    @Test
+    void encode_timesOut() throws Exception {
+        // given 스레드 하나를 막아둬서 해시 요청이 대기열에서 기다리게 함
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> {
+            release.await();
+            return null;
+        });
+
+        // when, then 기다리던 요청은 timeout 후 거절(503), 대기열의 작업은 취소되어 실행되지 않음
+        assertThatThrownBy(() -> passwordEncoder.encode("password"))
+                .isInstanceOf(PasswordHashingBusyException.class);
+        assertThat(meterRegistry.get("password.hashing.timed.out").counter().count()).isEqualTo(1);
+        release.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("password.hashing").tag("operation", "encode").timer().count()).isZero();
+    }
+}
@@ -6,13 +6,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import springboot.study.config.BlogProperties;
 import springboot.study.domain.User;
 import springboot.study.repository.UserRepository;
 
 import java.time.Duration;
 import java.util.Date;
 import java.util.Map;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -99,6 +102,30 @@ class TokenProviderTest {
         assertThat(((UserDetails) authentication.getPrincipal()).getUsername()).isEqualTo(userEmail);
     }
 
+    @DisplayName("authenticate(): 검증된 토큰은 다시 인증할 수 있고 서명이 바뀐 토큰은 거부한다.")
+    @Test
+    void authenticate() {
+        // given 토큰 생성 후 서명 첫 글자를 바꾼 위조 토큰 생성
+        String userEmail = "user@email.com";
+        String token = JwtFactory.builder()
+                .subject(userEmail)
+                .build()
+                .createToken(jwtProperties);
+        int signatureStart = token.lastIndexOf('.') + 1;
+        char replaced = token.charAt(signatureStart) == 'A' ? 'B' : 'A';
+        String tamperedToken = token.substring(0, signatureStart) + replaced + token.substring(signatureStart + 1);
+
+        // when 같은 토큰으로 두 번 인증(두 번째는 캐시 사용), 위조 토큰으로 인증
+        Authentication first = tokenProvider.authenticate(token);
+        Authentication second = tokenProvider.authenticate(token);
+        Authentication tampered = tokenProvider.authenticate(tamperedToken);
+
+        // then 원래 토큰은 같은 유저로 인증되고 위조 토큰은 실패
+        assertThat(((UserDetails) first.getPrincipal()).getUsername()).isEqualTo(userEmail);
+        assertThat(((UserDetails) second.getPrincipal()).getUsername()).isEqualTo(userEmail);
+        assertThat(tampered).isNull();
+    }
+
     @DisplayName("getUserId(): 토큰으로 유저 ID를 가져올 수 있다.")
     @Test
     void getUserId() {
@@ -115,4 +142,73 @@ class TokenProviderTest {
         // then 토큰 생성시 설정한 유저 id와 값이 같은지 확인
         assertThat(userIdByToken).isEqualTo(userId);
     }
-}
\ No newline at end of file
+
+    @DisplayName("rotateKey(), retireKey(): 키를 교체해도 이전 키의 토큰은 유효하고 키를 제거하면 거부한다.")
+    @Test
+    void rotateKey() {
+        // given 테스트용 토큰 제공자(다른 테스트에 영향이 없도록 새로 생성), 기본 키로 서명한 토큰 생성
+        TokenProvider provider = new TokenProvider(jwtProperties, new JwtKeyRing(jwtProperties), new RevokedTokens(new BlogProperties()));
+        User testUser = User.builder()
+                .email("user@gmail.com")
+                .password("test")
+                .build();
+        String oldToken = provider.generateToken(testUser, Duration.ofDays(1));
+
+        // when 새 키로 교체 후 토큰 생성
+        provider.rotateKey("next", "bmV4dC1zZWNyZXQ");
+        String newToken = provider.generateToken(testUser, Duration.ofDays(1));
+
+        // then 두 토큰 모두 유효하고, 새 토큰은 새 kid로 서명됨
+        assertThat(provider.validToken(oldToken)).isTrue();
+        assertThat(provider.validToken(newToken)).isTrue();
+        assertThat(Jwts.parser().setSigningKey("bmV4dC1zZWNyZXQ").parseClaimsJws(newToken).getHeader().getKeyId())
+                .isEqualTo("next");
+
+        // when 기본 키 제거
+        provider.retireKey(JwtKeyRing.DEFAULT_KEY_ID);
+
+        // then 이전 키의 토큰은 거부되고 새 토큰은 유효
+        assertThat(provider.validToken(oldToken)).isFalse();
+        assertThat(provider.validToken(newToken)).isTrue();
+    }
+
+    @DisplayName("revoke(): 폐기한 토큰은 만료 전이라도 검증에 실패하고 다른 토큰은 영향이 없다.")
+    @Test
+    void revoke() {
+        // given 같은 유저의 토큰 두 개 생성 후 검증(검증 결과가 캐시됨)
+        User testUser = userRepository.save(User.builder()
+                .email("revoke@gmail.com")
+                .password("test")
+                .build());
+        String token = tokenProvider.generateToken(testUser, Duration.ofHours(2));
+        String otherToken = tokenProvider.generateToken(testUser, Duration.ofHours(2));
+        assertThat(tokenProvider.validToken(token)).isTrue();
+
+        // when 첫 번째 토큰 폐기
+        tokenProvider.revoke(token);
+
+        // then 캐시에 있던 토큰도 검증에 실패하고 다른 토큰은 유효
+        assertThat(tokenProvider.validToken(token)).isFalse();
+        assertThat(tokenProvider.authenticate(token)).isNull();
+        assertThat(tokenProvider.validToken(otherToken)).isTrue();
+    }
+
+    @DisplayName("authenticate(): jwt.admin-emails에 있는 유저만 관리자 권한을 받는다.")
+    @Test
+    void authenticate_adminRole() {
+        // given 관리자 이메일을 설정한 토큰 제공자(다른 테스트에 영향이 없도록 새로 생성)
+        JwtProperties properties = new JwtProperties();
+        properties.setIssuer(jwtProperties.getIssuer());
+        properties.setSecretKey(jwtProperties.getSecretKey());
+        properties.setAdminEmails(Set.of("admin@gmail.com"));
+        TokenProvider provider = new TokenProvider(properties, new JwtKeyRing(properties), new RevokedTokens(new BlogProperties()));
+
+        // when
+        Authentication admin = provider.authenticate(provider.generateToken(1L, "admin@gmail.com", Duration.ofHours(1)));
+        Authentication user = provider.authenticate(provider.generateToken(2L, "user@gmail.com", Duration.ofHours(1)));
+
+        // then
+        assertThat(admin.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+        assertThat(user.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_USER");
+    }
+}
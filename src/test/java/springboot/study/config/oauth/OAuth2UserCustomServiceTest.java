@@ -0,0 +1,82 @@
+package springboot.study.config.oauth;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import springboot.study.domain.User;
+import springboot.study.repository.UserRepository;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class OAuth2UserCustomServiceTest {
+
+    @Autowired
+    private OAuth2UserCustomService oAuth2UserCustomService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @DisplayName("saveOrUpdate(): 처음 로그인한 유저는 새로 만든다.")
+    @Test
+    void saveOrUpdate_newUser() {
+        // when
+        oAuth2UserCustomService.saveOrUpdate(oAuth2User("new@gmail.com", "new user"));
+
+        // then
+        User user = userRepository.findByEmail("new@gmail.com").orElseThrow();
+        assertThat(user.getNickname()).isEqualTo("new user");
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    @DisplayName("saveOrUpdate(): 이미 있는 유저는 새로 만들지 않고 바뀐 이름만 반영한다.")
+    @Test
+    void saveOrUpdate_existingUser() {
+        // given
+        userRepository.save(User.builder()
+                .email("existing@gmail.com")
+                .nickname("old name")
+                .build());
+
+        // when
+        oAuth2UserCustomService.saveOrUpdate(oAuth2User("existing@gmail.com", "new name"));
+
+        // then
+        assertThat(userRepository.findNicknameByEmail("existing@gmail.com")).contains("new name");
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    @DisplayName("saveOrUpdate(): 바뀐 이름이 캐시에도 반영되어 같은 이름의 다음 로그인은 DB를 거치지 않는다.")
+    @Test
+    void saveOrUpdate_cachesChangedName() {
+        // given 이전 이름으로 로그인한 뒤 이름을 바꿔서 로그인
+        oAuth2UserCustomService.saveOrUpdate(oAuth2User("cached@gmail.com", "old name"));
+        oAuth2UserCustomService.saveOrUpdate(oAuth2User("cached@gmail.com", "new name"));
+        assertThat(userRepository.findNicknameByEmail("cached@gmail.com")).contains("new name");
+
+        // when DB의 이름을 직접 바꾼 뒤 같은 이름으로 다시 로그인
+        userRepository.updateNicknameByEmail("cached@gmail.com", "changed in db");
+        oAuth2UserCustomService.saveOrUpdate(oAuth2User("cached@gmail.com", "new name"));
+
+        // then 캐시의 이름(new name)과 같으므로 DB에 쓰지 않음
+        assertThat(userRepository.findNicknameByEmail("cached@gmail.com")).contains("changed in db");
+    }
+
+    private static OAuth2User oAuth2User(String email, String name) {
+        return new DefaultOAuth2User(List.of(new SimpleGrantedAuthority("ROLE_USER")),
+                Map.of("email", email, "name", name), "email");
+    }
+}
@@ -0,0 +1,68 @@
+package springboot.study.config.query;
+
+import jakarta.servlet.FilterChain;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(OutputCaptureExtension.class)
+class QueryCountFilterTest {
+
+    private final QueryLogProperties queryLogProperties = new QueryLogProperties();
+    private final QueryLogListener queryLogListener = new QueryLogListener(queryLogProperties);
+    private final QueryCountFilter queryCountFilter = new QueryCountFilter(queryLogProperties);
+
+    @DisplayName("doFilter(): 요청 하나의 쿼리 수가 예산을 넘으면 경고를 남긴다.")
+    @Test
+    void doFilterBudgetExceeded(CapturedOutput output) throws Exception {
+        // given
+        queryLogProperties.setStatementBudget(2);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/articles");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        queryCountFilter.doFilter(request, response, executing(3, 4));
+
+        // then
+        assertThat(output.getOut()).contains(
+                "query budget exceeded method=GET uri=/api/articles status=200 statements=3 budget=2 queryTimeMs=12");
+        assertThat(QueryCounter.stop()).isNull();
+    }
+
+    @DisplayName("doFilter(): 예산 안에서 끝난 요청은 경고하지 않는다.")
+    @Test
+    void doFilterWithinBudget(CapturedOutput output) throws Exception {
+        // given
+        queryLogProperties.setStatementBudget(3);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/articles");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        queryCountFilter.doFilter(request, response, executing(3, 4));
+
+        // then
+        assertThat(output.getOut()).doesNotContain("query budget exceeded");
+    }
+
+    //컨트롤러 대신 쿼리를 count번 실행하는 체인
+    private FilterChain executing(int count, long elapsedMillis) {
+        return (request, response) -> {
+            for (int i = 0; i < count; i++) {
+                ExecutionInfo execInfo = new ExecutionInfo();
+                execInfo.setElapsedTime(elapsedMillis);
+                execInfo.setSuccess(true);
+                queryLogListener.afterQuery(execInfo, List.of(new QueryInfo("select * from article")));
+            }
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package springboot.study.config.query;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import springboot.study.domain.Article;
+import springboot.study.repository.BlogRepository;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ExtendWith(OutputCaptureExtension.class)
+class QueryLogConfigTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private QueryLogProperties queryLogProperties;
+
+    private Duration slowQueryThreshold;
+
+    @BeforeEach
+    void setUp() {
+        blogRepository.deleteAll();
+        slowQueryThreshold = queryLogProperties.getSlowQueryThreshold();
+    }
+
+    @AfterEach
+    void tearDown() {
+        queryLogProperties.setSlowQueryThreshold(slowQueryThreshold);
+        QueryCounter.stop();
+    }
+
+    @DisplayName("DataSource: 하이버네이트가 실행한 쿼리가 프록시를 거쳐 집계되고 로그된다.")
+    @Test
+    void dataSourceProxy(CapturedOutput output) {
+        // given
+        queryLogProperties.setSlowQueryThreshold(Duration.ZERO);
+        QueryCounter.start();
+
+        // when
+        blogRepository.save(Article.builder()
+                .title("title")
+                .content("content")
+                .build());
+        blogRepository.findAll();
+
+        // then
+        assertThat(dataSource).isInstanceOf(ProxyDataSource.class);
+        assertThat(QueryCounter.stop().getCount()).isGreaterThanOrEqualTo(2);
+        assertThat(output.getOut())
+                .contains("slow query")
+                .contains("insert into article")
+                .contains("params=[hidden]");
+    }
+}
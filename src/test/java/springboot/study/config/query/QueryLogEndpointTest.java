@@ -0,0 +1,79 @@
+package springboot.study.config.query;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class QueryLogEndpointTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private QueryLogProperties queryLogProperties;
+
+    private MockMvc mockMvc;
+    private Duration slowQueryThreshold;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        slowQueryThreshold = queryLogProperties.getSlowQueryThreshold();
+    }
+
+    @AfterEach
+    void tearDown() {
+        queryLogProperties.setSlowQueryThreshold(slowQueryThreshold);
+    }
+
+    @DisplayName("querylog: 관리자는 실행 중에 느린 쿼리 기준을 바꿀 수 있다.")
+    @WithMockUser(roles = "ADMIN")
+    @Test
+    void configure() throws Exception {
+        // when
+        mockMvc.perform(post("/actuator/querylog")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"slowQueryThreshold\": \"50ms\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.slowQueryThreshold").value("PT0.05S"));
+
+        // then
+        assertThat(queryLogProperties.getSlowQueryThreshold()).isEqualTo(Duration.ofMillis(50));
+    }
+
+    @DisplayName("querylog: 관리자가 아니면 403 응답을 받고 설정은 바뀌지 않는다.")
+    @WithMockUser(roles = "USER")
+    @Test
+    void configureForbidden() throws Exception {
+        // when
+        mockMvc.perform(post("/actuator/querylog")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"slowQueryThreshold\": \"50ms\"}"))
+                .andExpect(status().isForbidden());
+
+        // then
+        assertThat(queryLogProperties.getSlowQueryThreshold()).isEqualTo(slowQueryThreshold);
+    }
+}
@@ -0,0 +1,146 @@
+package springboot.study.config.query;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(OutputCaptureExtension.class)
+class QueryLogListenerTest {
+
+    private final QueryLogProperties queryLogProperties = new QueryLogProperties();
+    private final QueryLogListener queryLogListener = new QueryLogListener(queryLogProperties);
+
+    @AfterEach
+    void tearDown() {
+        QueryCounter.stop();
+    }
+
+    @DisplayName("afterQuery(): 요청을 처리하는 스레드에서 실행한 쿼리 수와 시간을 집계한다.")
+    @Test
+    void afterQuery() {
+        // given
+        QueryCounter.start();
+
+        // when
+        execute(3);
+        execute(5);
+
+        // then
+        QueryCounter.Stats stats = QueryCounter.stop();
+        assertThat(stats.getCount()).isEqualTo(2);
+        assertThat(stats.getElapsedMillis()).isEqualTo(8);
+    }
+
+    @DisplayName("afterQuery(): 실행 중에 끄면 집계하지 않는다.")
+    @Test
+    void afterQueryDisabled() {
+        // given
+        QueryCounter.start();
+        queryLogProperties.setEnabled(false);
+
+        // when
+        execute(3);
+
+        // then
+        assertThat(QueryCounter.stop().getCount()).isZero();
+    }
+
+    @DisplayName("afterQuery(): 느린 쿼리는 한 줄로 로그하고 기본으로 바인딩 값은 남기지 않는다.")
+    @Test
+    void afterQuerySlowQuery(CapturedOutput output) throws Exception {
+        // given
+        queryLogProperties.setSlowQueryThreshold(Duration.ofMillis(100));
+        QueryInfo queryInfo = new QueryInfo("select a1_0.id, a1_0.title\n  from article a1_0 where a1_0.id=?");
+        queryInfo.setParametersList(List.of(List.of(setParameter(1, 7L))));
+
+        // when
+        execute(150, queryInfo);
+        execute(50, new QueryInfo("select count(*) from article"));
+
+        // then
+        assertThat(output.getOut())
+                .contains("slow query elapsedMs=150 success=true batch=false batchSize=0 "
+                        + "sql=\"select a1_0.id, a1_0.title from article a1_0 where a1_0.id=?\" params=[hidden]")
+                .doesNotContain("select count(*) from article");
+    }
+
+    @DisplayName("afterQuery(): 바인딩 값을 남길 때도 비밀번호, 이메일 같은 민감한 컬럼 값과 컬럼을 알 수 없는 값은 가린다.")
+    @Test
+    void afterQuerySlowQueryMasksSensitiveColumns(CapturedOutput output) throws Exception {
+        // given
+        queryLogProperties.setSlowQueryThreshold(Duration.ZERO);
+        queryLogProperties.setLogParameters(true);
+        QueryInfo insert = new QueryInfo("insert into users (email, nickname, password, id) values (?, ?, ?, default)");
+        insert.setParametersList(List.of(List.of(
+                setParameter(1, "user@gmail.com"),
+                setParameter(2, "nick"),
+                setParameter(3, "$2a$10$hash"))));
+        QueryInfo update = new QueryInfo("update refresh_token set expires_at=?,token_hash=?,user_id=? where id=?");
+        update.setParametersList(List.of(List.of(
+                setParameter(1, "2024-01-01T00:00"),
+                setParameter(2, "abc123"),
+                setParameter(3, 1L),
+                setParameter(4, 2L))));
+
+        QueryInfo unknown = new QueryInfo("select u1_0.id from users u1_0 where u1_0.id=? and lower(u1_0.email) in (?, ?)");
+        unknown.setParametersList(List.of(List.of(
+                setParameter(1, 3L),
+                setParameter(2, "first@gmail.com"),
+                setParameter(3, "second@gmail.com"))));
+
+        // when
+        execute(1, insert);
+        execute(1, update);
+        execute(1, unknown);
+
+        // then 어떤 컬럼에 바인딩되는지 알 수 없는 값도 가림
+        assertThat(output.getOut())
+                .contains("params=[1=****, 2=nick, 3=****]")
+                .contains("params=[1=2024-01-01T00:00, 2=****, 3=1, 4=2]")
+                .contains("params=[1=3, 2=****, 3=****]")
+                .doesNotContain("user@gmail.com")
+                .doesNotContain("$2a$10$hash")
+                .doesNotContain("abc123")
+                .doesNotContain("first@gmail.com")
+                .doesNotContain("second@gmail.com");
+    }
+
+    @DisplayName("parameterColumns(): ?마다 바인딩되는 컬럼 이름을 찾는다.")
+    @Test
+    void parameterColumns() {
+        assertThat(QueryLogListener.parameterColumns(
+                "select u1_0.id from users u1_0 where u1_0.EMAIL=? and u1_0.nickname like ? and u1_0.id in (?, ?)"))
+                .containsExactly("email", "nickname", null, null);
+        assertThat(QueryLogListener.parameterColumns("insert into users (email, password) values (?, ?)"))
+                .containsExactly("email", "password");
+    }
+
+    private void execute(long elapsedMillis) {
+        execute(elapsedMillis, new QueryInfo("select * from article where id = ?"));
+    }
+
+    private void execute(long elapsedMillis, QueryInfo queryInfo) {
+        ExecutionInfo execInfo = new ExecutionInfo();
+        execInfo.setElapsedTime(elapsedMillis);
+        execInfo.setSuccess(true);
+        queryLogListener.afterQuery(execInfo, List.of(queryInfo));
+    }
+
+    private static ParameterSetOperation setParameter(int index, Object value) throws NoSuchMethodException {
+        Class<?> type = value instanceof Long ? long.class : String.class;
+        return new ParameterSetOperation(PreparedStatement.class.getMethod(
+                type == long.class ? "setLong" : "setString", int.class, type), new Object[]{index, value});
+    }
+}
@@ -0,0 +1,101 @@
+package springboot.study.config.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private RateLimitFilter rateLimitFilter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Route login = new RateLimitProperties.Route();
+        login.setPath("/login");
+        login.setCapacity(2);
+        login.setRefillPeriod(Duration.ofHours(1));
+        login.setAccountParameter("username");
+
+        RateLimitProperties rateLimitProperties = new RateLimitProperties();
+        rateLimitProperties.setRoutes(List.of(login));
+        rateLimitFilter = new RateLimitFilter(rateLimitProperties);
+    }
+
+    @DisplayName("doFilter(): 용량을 넘은 요청은 429와 Retry-After로 거절하고 다음 필터로 넘기지 않는다.")
+    @Test
+    void doFilter_tooManyRequests() throws Exception {
+        // given 같은 IP에서 용량(2)만큼 요청
+        for (int i = 0; i < 2; i++) {
+            assertThat(filter(login("127.0.0.1", null)).getStatus()).isEqualTo(HttpStatus.OK.value());
+        }
+
+        // when
+        MockFilterChain filterChain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(login("127.0.0.1", null), response, filterChain);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(Long.parseLong(response.getHeader(HttpHeaders.RETRY_AFTER))).isPositive();
+        assertThat(filterChain.getRequest()).isNull();
+    }
+
+    @DisplayName("doFilter(): 경로와 메서드가 모두 일치하는 요청만 제한한다.")
+    @Test
+    void doFilter_routeMatching() throws Exception {
+        // given 용량을 모두 사용
+        filter(login("127.0.0.1", null));
+        filter(login("127.0.0.1", null));
+
+        // when 다른 메서드, 다른 경로로 요청
+        MockHttpServletRequest get = new MockHttpServletRequest("GET", "/login");
+        MockHttpServletRequest other = new MockHttpServletRequest("POST", "/login/other");
+
+        // then 제한하지 않음
+        assertThat(filter(get).getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(filter(other).getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(filter(login("127.0.0.1", null)).getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    @DisplayName("doFilter(): IP가 달라도 같은 계정(대소문자, 공백 무시)으로 보낸 요청은 계정 버킷으로 제한한다.")
+    @Test
+    void doFilter_accountParameter() throws Exception {
+        // given 서로 다른 IP에서 같은 계정으로 용량(2)만큼 요청
+        filter(login("127.0.0.1", "user@gmail.com"));
+        filter(login("127.0.0.2", "USER@gmail.com "));
+
+        // when
+        MockHttpServletResponse sameAccount = filter(login("127.0.0.3", "user@gmail.com"));
+        MockHttpServletResponse otherAccount = filter(login("127.0.0.3", "other@gmail.com"));
+
+        // then 같은 계정만 거절
+        assertThat(sameAccount.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(sameAccount.getHeader(HttpHeaders.RETRY_AFTER)).isNotNull();
+        assertThat(otherAccount.getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    private MockHttpServletRequest login(String remoteAddr, String username) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+        request.setRemoteAddr(remoteAddr);
+        if (username != null) {
+            request.setParameter("username", username);
+        }
+        return request;
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,56 @@
+package springboot.study.config.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final RateLimiter rateLimiter = new RateLimiter(3, Duration.ofSeconds(3), now::get);
+
+    @DisplayName("tryAcquire(): 용량만큼 허용하고 이후 요청은 토큰이 다시 찰 때까지 거절한다.")
+    @Test
+    void tryAcquire() {
+        // when 용량(3)만큼 요청
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.tryAcquire("127.0.0.1")).isZero();
+        }
+
+        // then 네 번째 요청은 토큰 하나가 차는 1초 뒤까지 거절, 다른 키는 영향 없음
+        assertThat(rateLimiter.tryAcquire("127.0.0.1")).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+        assertThat(rateLimiter.tryAcquire("127.0.0.2")).isZero();
+
+        // when 1초가 지나면 토큰 하나만 다시 허용
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(rateLimiter.tryAcquire("127.0.0.1")).isZero();
+        assertThat(rateLimiter.tryAcquire("127.0.0.1")).isPositive();
+    }
+
+    @DisplayName("evictFull(): 다시 가득 찬 버킷만 제거한다.")
+    @Test
+    void evictFull() {
+        // given 두 키가 토큰을 사용
+        rateLimiter.tryAcquire("127.0.0.1");
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        rateLimiter.tryAcquire("127.0.0.2");
+
+        // when 첫 번째 키의 버킷만 가득 찬 시점에 정리
+        rateLimiter.evictFull();
+
+        // then 두 번째 키만 남음
+        assertThat(rateLimiter.size()).isEqualTo(1);
+    }
+
+    @DisplayName("retryAfterSeconds(): 남은 시간을 초 단위로 올림한다.")
+    @Test
+    void retryAfterSeconds() {
+        assertThat(RateLimiter.retryAfterSeconds(1)).isEqualTo(1);
+        assertThat(RateLimiter.retryAfterSeconds(TimeUnit.MILLISECONDS.toNanos(1500))).isEqualTo(2);
+    }
+}
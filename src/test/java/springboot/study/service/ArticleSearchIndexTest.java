@@ -0,0 +1,139 @@
+package springboot.study.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import springboot.study.repository.BlogRepository;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ArticleSearchIndexTest {
+
+    private ArticleSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ArticleSearchIndex(mock(BlogRepository.class), mock(EntityManager.class), mock(PlatformTransactionManager.class));
+    }
+
+    @DisplayName("tokenize(): 영어는 단어 단위로, 한글은 두 글자씩 자른다.")
+    @Test
+    void tokenize() {
+        // when 한글, 영어가 섞인 문장을 자름
+        List<String> tokens = ArticleSearchIndex.tokenize("블로그에 Spring3 글!");
+
+        // then 한글은 bigram, 영어는 소문자 단어, 한 글자 한글은 그대로
+        assertThat(tokens).containsExactly("블로", "로그", "그에", "spring3", "글");
+    }
+
+    @DisplayName("tokenize(): 색인할 때는 한글 글자 하나씩도 함께 자른다.")
+    @Test
+    void tokenize_withUnigrams() {
+        // when
+        List<String> tokens = ArticleSearchIndex.tokenize("글쓰기 Spring", true);
+
+        // then bigram 뒤에 글자 하나씩, 영어는 그대로
+        assertThat(tokens).containsExactly("글쓰", "쓰기", "글", "쓰", "기", "spring");
+    }
+
+    @DisplayName("search(): 한 글자 한글 검색어는 그 글자가 들어간 단어의 글도 찾는다.")
+    @Test
+    void search_singleHangulCharacter() {
+        // given "글"이 두 글자 이상인 단어 안에만 들어간 글
+        index.index(1L, 0L, "글쓰기", "블로그 작성");
+        index.index(2L, 0L, "공지", "새 게시글 안내");
+        index.index(3L, 0L, "Spring", "hello");
+
+        // when, then 제목에 나온 글이 먼저
+        assertThat(index.search("글", 10)).containsExactly(1L, 2L);
+    }
+
+    @DisplayName("search(): 조사가 붙은 한글 단어도 찾고 제목에 나온 글을 먼저 반환한다.")
+    @Test
+    void search_ranksByTermFrequency() {
+        // given 제목과 내용에 검색어가 있는 글, 내용에만 있는 글, 없는 글
+        index.index(1L, 0L, "다른 글", "블로그에 오신 것을 환영합니다.");
+        index.index(2L, 0L, "스프링 블로그", "블로그 글 작성");
+        index.index(3L, 0L, "Spring Boot", "hello");
+
+        // when 검색
+        List<Long> ids = index.search("블로그", 10);
+
+        // then 점수 순서대로 반환
+        assertThat(ids).containsExactly(2L, 1L);
+        assertThat(index.search("spring boot", 10)).containsExactly(3L);
+        assertThat(index.search("spring java", 10)).isEmpty();
+    }
+
+    @DisplayName("index(), remove(): 글이 수정, 삭제되면 색인도 바로 바뀐다.")
+    @Test
+    void updateAndRemove() {
+        // given 색인된 글
+        index.index(1L, 0L, "Spring", "content");
+        index.index(2L, 0L, "Spring", "content");
+
+        // when 1번 글은 수정, 2번 글은 삭제
+        index.index(1L, 1L, "Java", "content");
+        index.remove(2L);
+
+        // then 이전 단어로는 찾을 수 없고 새 단어로 찾을 수 있음
+        assertThat(index.search("spring", 10)).isEmpty();
+        assertThat(index.search("java", 10)).containsExactly(1L);
+    }
+
+    @DisplayName("index(): 이전 버전의 색인 요청이 늦게 실행되어도 새 버전의 색인을 덮어쓰지 않는다.")
+    @Test
+    void index_ignoresOlderVersion() {
+        // given 2번째 버전이 먼저 색인됨
+        index.index(1L, 2L, "Java", "content");
+
+        // when 1번째 버전의 색인 요청이 늦게 도착
+        index.index(1L, 1L, "Spring", "content");
+
+        // then 새 버전의 내용이 남음
+        assertThat(index.search("java", 10)).containsExactly(1L);
+        assertThat(index.search("spring", 10)).isEmpty();
+    }
+
+    @DisplayName("index(): 같은 글을 동시에 수정해도 마지막 내용에 없는 단어는 남지 않는다.")
+    @Test
+    void concurrentIndex() throws Exception {
+        // given 두 스레드가 같은 글을 서로 다른 내용으로 반복 수정
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        Future<?> first = executor.submit(() -> reindex(start, "alpha"));
+        Future<?> second = executor.submit(() -> reindex(start, "beta"));
+
+        // when
+        start.countDown();
+        first.get(10, TimeUnit.SECONDS);
+        second.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // then 두 단어 중 마지막으로 색인된 하나로만 찾을 수 있음
+        int matches = index.search("alpha", 10).size() + index.search("beta", 10).size();
+        assertThat(matches).isEqualTo(1);
+    }
+
+    private void reindex(CountDownLatch start, String term) {
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        for (int i = 0; i < 10_000; i++) {
+            index.index(1L, 0L, term, "content");
+        }
+    }
+}
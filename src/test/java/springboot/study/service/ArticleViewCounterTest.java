@@ -0,0 +1,119 @@
+package springboot.study.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import springboot.study.config.BlogProperties;
+import springboot.study.repository.BlogRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ArticleViewCounterTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final BlogRepository blogRepository = mock(BlogRepository.class);
+    private final ArticleViewCounter counter = new ArticleViewCounter(jdbcTemplate, blogRepository, new BlogProperties());
+    private final AtomicLong flushed = new AtomicLong(); //DB에 반영된 조회수 합
+
+    ArticleViewCounterTest() {
+        when(blogRepository.findViewCountsByOrderByViewCountDesc(any())).thenReturn(List.of());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> updates = invocation.getArgument(1);
+            updates.forEach(update -> flushed.addAndGet((Long) update[0]));
+            return new int[updates.size()];
+        });
+    }
+
+    @DisplayName("flush(): 모아둔 조회수를 반영하고, 조회가 없던 주기에는 UPDATE하지 않는다.")
+    @Test
+    void flush() {
+        // given
+        counter.increment(1L);
+        counter.increment(1L);
+        counter.increment(2L);
+
+        // when
+        counter.flush();
+
+        // then
+        assertThat(flushed).hasValue(3);
+
+        // when 조회 없이 다시 반영
+        counter.flush();
+
+        // then 배치는 처음 한 번만 실행됨
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+
+    @DisplayName("flush(): 반영하는 도중 들어온 조회수도 사라지지 않는다.")
+    @Test
+    void flush_concurrentViews() throws Exception {
+        // given 여러 스레드가 같은 글을 계속 조회
+        int threads = 4;
+        int viewsPerThread = 100_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> viewers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            viewers.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < viewsPerThread; j++) {
+                    counter.increment(1L);
+                }
+                return null;
+            }));
+        }
+
+        // when 조회하는 동안 반복해서 반영
+        AtomicBoolean viewing = new AtomicBoolean(true);
+        Thread flusher = new Thread(() -> {
+            while (viewing.get()) {
+                counter.flush();
+            }
+        });
+        flusher.start();
+        start.countDown();
+        for (Future<?> viewer : viewers) {
+            viewer.get(30, TimeUnit.SECONDS);
+        }
+        viewing.set(false);
+        flusher.join();
+        counter.flush();
+        executor.shutdown();
+
+        // then 모든 조회수가 반영됨
+        assertThat(flushed).hasValue((long) threads * viewsPerThread);
+    }
+
+    @DisplayName("remove(): 삭제된 글의 조회수는 반영하지 않는다.")
+    @Test
+    void remove() {
+        // given
+        counter.increment(1L);
+
+        // when
+        counter.remove(1L);
+        counter.flush();
+
+        // then
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+}
@@ -0,0 +1,71 @@
+package springboot.study.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import springboot.study.config.jwt.TokenProvider;
+import springboot.study.domain.RefreshToken;
+import springboot.study.repository.RefreshTokenRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "blog.refresh-token-purge.chunk-size=2")
+class RefreshTokenServiceTest {
+
+    @Autowired
+    RefreshTokenService refreshTokenService;
+
+    @Autowired
+    RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    TokenProvider tokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("purgeExpired(): 만료된 토큰만 청크 단위로 모두 삭제한다.")
+    @Test
+    void purgeExpired() {
+        // given 만료된 토큰 3개(청크 크기 2보다 많음), 만료되지 않은 토큰 2개
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.saveAll(List.of(
+                new RefreshToken(1L, "expired-1", now.minusDays(1)),
+                new RefreshToken(2L, "expired-2", now.minusHours(1)),
+                new RefreshToken(3L, "expired-3", now.minusMinutes(1)),
+                new RefreshToken(4L, "valid-1", now.plusDays(1)),
+                new RefreshToken(5L, "valid-2", now.plusDays(14))));
+
+        // when 만료된 토큰 정리
+        int deleted = refreshTokenService.purgeExpired();
+
+        // then 만료된 토큰만 삭제됨
+        assertThat(deleted).isEqualTo(3);
+        assertThat(refreshTokenRepository.findAll())
+                .extracting(RefreshToken::getUserId)
+                .containsExactlyInAnyOrder(4L, 5L);
+    }
+
+    @DisplayName("save(): 만료 시각은 리프레시 토큰의 exp 클레임을 그대로 저장한다.")
+    @Test
+    void save_expiresAtFromToken() {
+        // given 유효 기간 3일인 리프레시 토큰
+        String refreshToken = tokenProvider.generateToken(1L, "user@gmail.com", Duration.ofDays(3));
+        LocalDateTime exp = LocalDateTime.ofInstant(tokenProvider.getExpiration(refreshToken).toInstant(), ZoneId.systemDefault());
+
+        // when
+        refreshTokenService.save(1L, refreshToken);
+
+        // then
+        assertThat(refreshTokenRepository.findByUserId(1L).orElseThrow().getExpiresAt()).isEqualTo(exp);
+    }
+}
@@ -0,0 +1,73 @@
+package springboot.study.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+import springboot.study.config.BlogProperties;
+import springboot.study.domain.User;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserDetailsCacheTest {
+
+    private final UserDetailsCache userDetailsCache = new UserDetailsCache(new BlogProperties());
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Supplier<User> loader = () -> {
+        loads.incrementAndGet();
+        return User.builder()
+                .email("user@gmail.com")
+                .password("encoded")
+                .build();
+    };
+
+    @DisplayName("get(): 한 번만 조회하고, 꺼낼 때마다 엔티티가 아닌 새 UserDetails를 반환한다.")
+    @Test
+    void get() {
+        // when 두 번 조회하고 첫 번째 결과의 비밀번호를 지움(인증 후 시큐리티가 하는 일)
+        UserDetails first = userDetailsCache.get("user@gmail.com", loader);
+        ((CredentialsContainer) first).eraseCredentials();
+        UserDetails second = userDetailsCache.get("user@gmail.com", loader);
+
+        // then DB 조회는 한 번, 두 번째 결과의 비밀번호는 그대로
+        assertThat(loads).hasValue(1);
+        assertThat(first).isNotInstanceOf(User.class);
+        assertThat(second.getUsername()).isEqualTo("user@gmail.com");
+        assertThat(second.getPassword()).isEqualTo("encoded");
+    }
+
+    @DisplayName("evict(): 제거하면 다음 조회는 다시 읽어온다.")
+    @Test
+    void evict() {
+        // given 캐시에 저장
+        userDetailsCache.get("user@gmail.com", loader);
+
+        // when 제거 후 다시 조회
+        userDetailsCache.evict("user@gmail.com");
+        userDetailsCache.get("user@gmail.com", loader);
+
+        // then 두 번 조회
+        assertThat(loads).hasValue(2);
+    }
+
+    @DisplayName("get(): 읽는 도중 제거되면 읽은 값을 저장하지 않는다.")
+    @Test
+    void get_evictedWhileLoading() {
+        // given 조회 중에 비밀번호가 바뀌어 제거가 일어나는 상황
+        Supplier<User> staleLoader = () -> {
+            User user = loader.get();
+            userDetailsCache.evict("user@gmail.com");
+            return user;
+        };
+
+        // when 조회 후 다시 조회
+        userDetailsCache.get("user@gmail.com", staleLoader);
+        userDetailsCache.get("user@gmail.com", loader);
+
+        // then 이전 값이 캐시되지 않아 두 번째 조회도 DB에서 읽음
+        assertThat(loads).hasValue(2);
+    }
+}
@@ -0,0 +1,28 @@
+package springboot.study.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @DisplayName("mightContain(): 넣은 값은 항상 찾고, 넣지 않은 값의 오탐률은 설정값 근처다.")
+    @Test
+    void mightContain() {
+        // given 만 개를 넣음(예상 개수 만 개, 오탐률 1%)
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("j:" + i));
+
+        // when 넣지 않은 값 10만 개 확인
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain("x:" + i))
+                .count();
+
+        // then 넣은 값은 모두 찾고 오탐률은 2% 미만
+        assertThat(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("j:" + i))).isTrue();
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+}
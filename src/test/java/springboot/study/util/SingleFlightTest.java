@@ -0,0 +1,134 @@
+package springboot.study.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    @DisplayName("load(): 같은 키로 동시에 들어온 조회는 loader를 한 번만 실행한다.")
+    @Test
+    void load_coalescesConcurrentCalls() throws Exception {
+        // given 먼저 들어온 요청의 loader를 latch로 막아둠
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>(Duration.ofSeconds(5));
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> singleFlight.load(1L, () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "article";
+        })));
+        started.await();
+
+        // when 나머지 7개 요청이 같은 키를 조회하고, 모두 결과를 기다리기 시작한 뒤에 loader를 끝냄
+        List<Thread> followers = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            FutureTask<String> follower = new FutureTask<>(() -> singleFlight.load(1L, () -> {
+                calls.incrementAndGet();
+                return "unused";
+            }));
+            results.add(follower);
+            followers.add(new Thread(follower));
+        }
+        followers.forEach(Thread::start);
+        awaitParked(followers);
+        release.countDown();
+
+        // then 모든 요청이 같은 결과를 받고 loader는 한 번만 실행됨
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("article");
+        }
+        assertThat(calls.get()).isEqualTo(1);
+        executor.shutdown();
+    }
+
+    @DisplayName("load(): loader가 실패하면 기다리던 요청도 같은 예외를 받는다.")
+    @Test
+    void load_propagatesFailure() throws Exception {
+        // given 실패하는 loader가 실행 중인 상태
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>(Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> leader = executor.submit(() -> singleFlight.load(1L, () -> {
+            started.countDown();
+            await(release);
+            throw new IllegalArgumentException("not found: 1");
+        }));
+        started.await();
+
+        // when 기다리던 요청이 결과를 받기 전에 loader가 실패
+        Thread follower = Thread.currentThread();
+        new Thread(() -> {
+            awaitParked(List.of(follower));
+            release.countDown();
+        }).start();
+
+        // then 기다리던 요청도 같은 예외를 받음
+        assertThatThrownBy(() -> singleFlight.load(1L, () -> "unused"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("not found: 1");
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+        executor.shutdown();
+    }
+
+    @DisplayName("load(): 기다리는 시간이 timeout을 넘으면 예외가 발생한다.")
+    @Test
+    void load_timesOut() throws Exception {
+        // given 끝나지 않는 loader가 실행 중인 상태
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>(Duration.ofMillis(100));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.submit(() -> singleFlight.load(1L, () -> {
+            started.countDown();
+            await(release);
+            return "article";
+        }));
+        started.await();
+
+        // when, then 기다리던 요청은 timeout 후 예외를 받음
+        assertThatThrownBy(() -> singleFlight.load(1L, () -> "unused"))
+                .isInstanceOf(IllegalStateException.class);
+        release.countDown();
+        executor.shutdown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    //threads가 모두 실행 중인 loader의 결과를 기다리며 멈출 때까지 대기
+    //load()에서 스레드가 멈추는 곳은 timeout을 준 get()뿐이므로 TIMED_WAITING이면 결과를 기다리는 중
+    private static void awaitParked(List<Thread> threads) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!threads.stream().allMatch(thread -> thread.getState() == Thread.State.TIMED_WAITING)) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("waiters did not join: " + threads.stream().map(Thread::getState).toList());
+            }
+            Thread.yield();
+        }
+    }
+}